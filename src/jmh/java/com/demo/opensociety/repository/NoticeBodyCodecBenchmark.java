@@ -0,0 +1,67 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bson.types.Binary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time to encode and to decode a notice body with the {@link NoticeBodyCodec}, per body size, with the default
+ * compression level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class NoticeBodyCodecBenchmark {
+
+    @Param({ "1024", "4096", "16384", "65536" })
+    private int size;
+
+    private NoticeBodyCodec codec;
+
+    private String body;
+
+    private Binary encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBodyCompression().setEnabled(true);
+        applicationProperties.getBodyCompression().setThresholdBytes(1024);
+        codec = new NoticeBodyCodec(applicationProperties);
+        body = noticeText(size);
+        encoded = (Binary) codec.encode(body);
+    }
+
+    @Benchmark
+    public Object encode() {
+        return codec.encode(body);
+    }
+
+    @Benchmark
+    public String decode() {
+        return NoticeBodyCodec.decode(encoded);
+    }
+
+    /**
+     * Notice-like text: words of a small vocabulary, in random order.
+     */
+    private static String noticeText(int length) {
+        String[] words = { "water", "supply", "will", "be", "interrupted", "on", "Monday", "for", "the", "maintenance", "of", "tank" };
+        Random random = new Random(length);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
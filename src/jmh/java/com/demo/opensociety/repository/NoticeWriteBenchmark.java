@@ -0,0 +1,93 @@
+package com.demo.opensociety.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Time of a PATCH of a notice, read-modify-write against the single findAndModify of
+ * {@link NoticeRepositoryCustomImpl#patch(Notice, Long)}, and of a PUT, check then save against the single conditional
+ * write of {@link NoticeRepositoryCustomImpl#replace(Notice, Long)}.
+ * <p>
+ * Runs against a MongoDB server, by default the one of {@code src/main/docker/mongodb.yml}, in a database of its own
+ * which is dropped afterwards. Another server is set with the {@code mongoUri} parameter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class NoticeWriteBenchmark {
+
+    private static final String DATABASE = "communicationServiceBenchmark";
+
+    @Param("mongodb://localhost:27017")
+    private String mongoUri;
+
+    private MongoClient mongoClient;
+
+    private MongoTemplate mongoTemplate;
+
+    private NoticeRepositoryCustomImpl noticeRepository;
+
+    private Notice notice;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mongoClient = MongoClients.create(mongoUri);
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        noticeRepository = new NoticeRepositoryCustomImpl(mongoTemplate, new NoticeBodyCodec(new ApplicationProperties()));
+        notice =
+            mongoTemplate.insert(
+                new Notice().title("title").body("body").publishDate(Instant.ofEpochMilli(0L)).noticeType(NoticeType.SOCIETY).userId(1L)
+            );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Notice readModifyWritePatch() {
+        mongoTemplate.exists(query(where("id").is(notice.getId())), Notice.class);
+        Notice existing = mongoTemplate.findById(notice.getId(), Notice.class);
+        return mongoTemplate.save(existing.title("read-modify-write"));
+    }
+
+    @Benchmark
+    public Optional<Notice> findAndModifyPatch() {
+        return noticeRepository.patch(new Notice().id(notice.getId()).title("patch"), null);
+    }
+
+    @Benchmark
+    public Notice checkThenSaveReplace() {
+        if (mongoTemplate.exists(query(where("id").is(notice.getId())), Notice.class)) {
+            notice = mongoTemplate.save(notice.title("check-then-save"));
+        }
+        return notice;
+    }
+
+    @Benchmark
+    public Optional<Notice> conditionalReplace() {
+        return noticeRepository.replace(notice.title("replace"), null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Renders per second of the notice email of one recipient: processing the template for every recipient, against
+ * substituting the recipient in the notice rendered once by the {@link NoticeEmailRenderer}.
+ * <p>
+ * Both use a template engine caching the parsed templates, as in production.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class NoticeEmailRendererBenchmark {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private static final int RECIPIENTS = 1024;
+
+    private SpringTemplateEngine templateEngine;
+
+    private NoticeEmailRenderer noticeEmailRenderer;
+
+    private Notice notice;
+
+    private String[] recipients;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setMessageSource(messageSource);
+        noticeEmailRenderer =
+            new NoticeEmailRenderer(templateEngine, messageSource, new ConcurrentMapCacheManager(NoticeEmailRenderer.NOTICE_EMAILS_CACHE));
+
+        notice =
+            new Notice()
+                .id("5f1d7a3b9c8e4a0012345678")
+                .version(3L)
+                .title("Water supply interruption")
+                .body("The water supply of buildings A to D will be interrupted on Monday from 9:00 to 13:00.\n".repeat(20))
+                .publishDate(Instant.parse("2022-04-01T08:00:00Z"))
+                .noticeType(NoticeType.SOCIETY)
+                .userId(1L);
+        recipients = new String[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients[i] = "resident" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public String processTemplatePerRecipient() {
+        Context context = new Context(LOCALE);
+        context.setVariable("notice", notice);
+        context.setVariable("recipient", nextRecipient());
+        return templateEngine.process(NoticeEmailRenderer.TEMPLATE, context);
+    }
+
+    @Benchmark
+    public String substituteRecipient() {
+        return noticeEmailRenderer.render(notice, LOCALE).render(nextRecipient());
+    }
+
+    private String nextRecipient() {
+        next = (next + 1) % RECIPIENTS;
+        return recipients[next];
+    }
+}
@@ -9,4 +9,674 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final ChangeStream changeStream = new ChangeStream();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Publication publication = new Publication();
+
+    private final Archive archive = new Archive();
+
+    private final BodyCompression bodyCompression = new BodyCompression();
+
+    private final NoticeStream noticeStream = new NoticeStream();
+
+    private final Emergency emergency = new Emergency();
+
+    private final MailFanOut mailFanOut = new MailFanOut();
+
+    private final Outbox outbox = new Outbox();
+
+    private final ReadReceipts readReceipts = new ReadReceipts();
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public ChangeStream getChangeStream() {
+        return changeStream;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Publication getPublication() {
+        return publication;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public BodyCompression getBodyCompression() {
+        return bodyCompression;
+    }
+
+    public NoticeStream getNoticeStream() {
+        return noticeStream;
+    }
+
+    public Emergency getEmergency() {
+        return emergency;
+    }
+
+    public MailFanOut getMailFanOut() {
+        return mailFanOut;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public ReadReceipts getReadReceipts() {
+        return readReceipts;
+    }
+
+    public static class Pagination {
+
+        private int defaultSize = 20;
+
+        private int maxSize = 200;
+
+        public int getDefaultSize() {
+            return defaultSize;
+        }
+
+        public void setDefaultSize(int defaultSize) {
+            this.defaultSize = defaultSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class ChangeStream {
+
+        private boolean enabled = true;
+
+        /**
+         * Key under which this node persists its resume token; defaults to the host name. Must be stable across
+         * restarts and unique per node, which container host names are not: it is required by the prod profile.
+         */
+        private String listenerId;
+
+        private long tokenSaveIntervalMs = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getListenerId() {
+            return listenerId;
+        }
+
+        public void setListenerId(String listenerId) {
+            this.listenerId = listenerId;
+        }
+
+        public long getTokenSaveIntervalMs() {
+            return tokenSaveIntervalMs;
+        }
+
+        public void setTokenSaveIntervalMs(long tokenSaveIntervalMs) {
+            this.tokenSaveIntervalMs = tokenSaveIntervalMs;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of documents sent to MongoDB per bulk write.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum number of items accepted in a single bulk request.
+         */
+        private int maxItems = 5000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class Idempotency {
+
+        /**
+         * How long an Idempotency-Key is remembered after the creation it was sent with.
+         */
+        private long ttlSeconds = 86400;
+
+        /**
+         * How long a retry waits for the creation of the first request before taking over its key, the first request
+         * being considered failed.
+         */
+        private long pendingSeconds = 30;
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public long getPendingSeconds() {
+            return pendingSeconds;
+        }
+
+        public void setPendingSeconds(long pendingSeconds) {
+            this.pendingSeconds = pendingSeconds;
+        }
+    }
+
+    public static class Publication {
+
+        private boolean enabled = true;
+
+        /**
+         * Width of the slots of the lowest level of the timing wheel, i.e. the maximum publication delay.
+         */
+        private long tickMs = 100;
+
+        private int wheelSize = 64;
+
+        /**
+         * How far ahead the unpublished notices are loaded into the timing wheel, which is reloaded every half window.
+         */
+        private long windowSeconds = 600;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = tickMs;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public long getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        public void setWindowSeconds(long windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+    }
+
+    public static class Archive {
+
+        /**
+         * When the old notices are archived, {@code -} to never archive them.
+         */
+        private String cron = "-";
+
+        /**
+         * Age, from their publish date, from which the published notices are archived.
+         */
+        private int maxAgeDays = 365;
+
+        private int batchSize = 500;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getMaxAgeDays() {
+            return maxAgeDays;
+        }
+
+        public void setMaxAgeDays(int maxAgeDays) {
+            this.maxAgeDays = maxAgeDays;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class BodyCompression {
+
+        private boolean enabled = false;
+
+        /**
+         * Size of the UTF-8 encoded notice bodies from which they are stored compressed.
+         */
+        private int thresholdBytes = 4096;
+
+        /**
+         * Deflate compression level, from 1 (fastest) to 9 (smallest).
+         */
+        private int level = 6;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThresholdBytes() {
+            return thresholdBytes;
+        }
+
+        public void setThresholdBytes(int thresholdBytes) {
+            this.thresholdBytes = thresholdBytes;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    public static class NoticeStream {
+
+        /**
+         * Time after which the event streams are closed, and reopened by the clients.
+         */
+        private long timeoutMs = 1_800_000;
+
+        /**
+         * Interval of the comments sent on idle event streams, so that closed connections are detected.
+         */
+        private long heartbeatMs = 30_000;
+
+        /**
+         * Number of threads writing the events to the streams.
+         */
+        private int senderThreads = 4;
+
+        /**
+         * Number of events waiting to be written to a stream from which its client is considered too slow, and the
+         * stream is closed.
+         */
+        private int maxPendingEvents = 256;
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public long getHeartbeatMs() {
+            return heartbeatMs;
+        }
+
+        public void setHeartbeatMs(long heartbeatMs) {
+            this.heartbeatMs = heartbeatMs;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public int getMaxPendingEvents() {
+            return maxPendingEvents;
+        }
+
+        public void setMaxPendingEvents(int maxPendingEvents) {
+            this.maxPendingEvents = maxPendingEvents;
+        }
+    }
+
+    public static class Emergency {
+
+        /**
+         * Pool of the executor dedicated to the EMERGENCY notices, separate from the shared task executor.
+         */
+        private int coreSize = 2;
+
+        private int maxSize = 8;
+
+        private int queueCapacity = 1000;
+
+        /**
+         * Objective of the time from the write of a notice to its delivery, published as a bucket of the delivery timer.
+         */
+        private long latencySloMs = 1000;
+
+        public int getCoreSize() {
+            return coreSize;
+        }
+
+        public void setCoreSize(int coreSize) {
+            this.coreSize = coreSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getLatencySloMs() {
+            return latencySloMs;
+        }
+
+        public void setLatencySloMs(long latencySloMs) {
+            this.latencySloMs = latencySloMs;
+        }
+    }
+
+    public static class MailFanOut {
+
+        /**
+         * Number of messages sent per SMTP session.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of SMTP connections, each kept open and reused while there are messages to send.
+         */
+        private int connections = 2;
+
+        /**
+         * Number of messages sent per second across all connections, 0 for no limit.
+         */
+        private double ratePerSecond = 20;
+
+        /**
+         * Time after which an unused SMTP connection is closed.
+         */
+        private long idleTimeoutMs = 30_000;
+
+        /**
+         * Number of queued messages from which new mailings are refused.
+         */
+        private int maxQueuedMessages = 100_000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public long getIdleTimeoutMs() {
+            return idleTimeoutMs;
+        }
+
+        public void setIdleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+        }
+
+        public int getMaxQueuedMessages() {
+            return maxQueuedMessages;
+        }
+
+        public void setMaxQueuedMessages(int maxQueuedMessages) {
+            this.maxQueuedMessages = maxQueuedMessages;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Whether the notice changes and their outbox events are written in MongoDB transactions, which need a
+         * replica set or a sharded cluster: they are not used against a standalone server, even when enabled. Without
+         * them, the event is written right after the change, and is lost if the node fails in between.
+         */
+        private boolean transactions = false;
+
+        /**
+         * Whether this node dispatches the outbox events.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of events claimed at once.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Number of events dispatched in parallel. The events of a notice are always dispatched in order.
+         */
+        private int concurrency = 4;
+
+        /**
+         * Time between two claims when the outbox is drained.
+         */
+        private long pollMs = 500;
+
+        /**
+         * Time after which the events claimed by a node that did not dispatch them can be claimed again.
+         */
+        private long leaseMs = 60_000;
+
+        /**
+         * Time before a failed event is dispatched again.
+         */
+        private long retryDelayMs = 10_000;
+
+        /**
+         * URL to which the outbox events are posted. When not set, no consumer is configured and the events are kept in
+         * the outbox.
+         */
+        private String webhookUrl;
+
+        /**
+         * Connect and read timeout of the webhook posts.
+         */
+        private long webhookTimeoutMs = 10_000;
+
+        public boolean isTransactions() {
+            return transactions;
+        }
+
+        public void setTransactions(boolean transactions) {
+            this.transactions = transactions;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public long getPollMs() {
+            return pollMs;
+        }
+
+        public void setPollMs(long pollMs) {
+            this.pollMs = pollMs;
+        }
+
+        public long getLeaseMs() {
+            return leaseMs;
+        }
+
+        public void setLeaseMs(long leaseMs) {
+            this.leaseMs = leaseMs;
+        }
+
+        public long getRetryDelayMs() {
+            return retryDelayMs;
+        }
+
+        public void setRetryDelayMs(long retryDelayMs) {
+            this.retryDelayMs = retryDelayMs;
+        }
+
+        public String getWebhookUrl() {
+            return webhookUrl;
+        }
+
+        public void setWebhookUrl(String webhookUrl) {
+            this.webhookUrl = webhookUrl;
+        }
+
+        public long getWebhookTimeoutMs() {
+            return webhookTimeoutMs;
+        }
+
+        public void setWebhookTimeoutMs(long webhookTimeoutMs) {
+            this.webhookTimeoutMs = webhookTimeoutMs;
+        }
+    }
+
+    public static class ReadReceipts {
+
+        /**
+         * Time between two writes of the buffered read receipts.
+         */
+        private long flushMs = 5000;
+
+        /**
+         * Number of buffered read receipts from which they are written without waiting for the next flush.
+         */
+        private int maxBuffered = 100_000;
+
+        /**
+         * Number of notices checked per query when looking for the unread notices of a user.
+         */
+        private int scanBatchSize = 100;
+
+        /**
+         * Maximum number of notices checked for one page of unread notices.
+         */
+        private int maxScanned = 2000;
+
+        public long getFlushMs() {
+            return flushMs;
+        }
+
+        public void setFlushMs(long flushMs) {
+            this.flushMs = flushMs;
+        }
+
+        public int getMaxBuffered() {
+            return maxBuffered;
+        }
+
+        public void setMaxBuffered(int maxBuffered) {
+            this.maxBuffered = maxBuffered;
+        }
+
+        public int getScanBatchSize() {
+            return scanBatchSize;
+        }
+
+        public void setScanBatchSize(int scanBatchSize) {
+            this.scanBatchSize = scanBatchSize;
+        }
+
+        public int getMaxScanned() {
+            return maxScanned;
+        }
+
+        public void setMaxScanned(int maxScanned) {
+            this.maxScanned = maxScanned;
+        }
+    }
+}
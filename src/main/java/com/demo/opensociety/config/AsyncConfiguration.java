@@ -23,8 +23,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -39,6 +42,22 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor of the work on the {@code EMERGENCY} notices, which never waits behind the tasks queued on the shared
+     * {@code taskExecutor}.
+     */
+    @Bean(name = Constants.EMERGENCY_TASK_EXECUTOR)
+    public Executor getEmergencyTaskExecutor() {
+        log.debug("Creating Emergency Task Executor");
+        ApplicationProperties.Emergency emergency = applicationProperties.getEmergency();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(emergency.getCoreSize());
+        executor.setMaxPoolSize(emergency.getMaxSize());
+        executor.setQueueCapacity(emergency.getQueueCapacity());
+        executor.setThreadNamePrefix("communication-service-emergency-");
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
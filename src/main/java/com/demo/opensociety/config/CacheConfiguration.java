@@ -0,0 +1,43 @@
+package com.demo.opensociety.config;
+
+import com.demo.opensociety.repository.NoticeRepository;
+import com.demo.opensociety.service.NoticeEmailRenderer;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final JHipsterProperties.Cache.Caffeine caffeine;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+        this.caffeine = jHipsterProperties.getCache().getCaffeine();
+    }
+
+    /**
+     * Local, bounded caches. The caches are declared up front so Spring Boot binds their hit, miss and
+     * eviction statistics to the Micrometer registry at startup.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(
+            Caffeine
+                .newBuilder()
+                .maximumSize(caffeine.getMaxEntries())
+                .expireAfterWrite(caffeine.getTimeToLiveSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+        );
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(NoticeRepository.NOTICES_BY_ID_CACHE, NoticeEmailRenderer.NOTICE_EMAILS_CACHE));
+        return cacheManager;
+    }
+}
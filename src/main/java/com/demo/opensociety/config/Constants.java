@@ -7,5 +7,10 @@ public final class Constants {
 
     public static final String SYSTEM = "system";
 
+    /**
+     * Name of the executor dedicated to the {@code EMERGENCY} notices.
+     */
+    public static final String EMERGENCY_TASK_EXECUTOR = "emergencyTaskExecutor";
+
     private Constants() {}
 }
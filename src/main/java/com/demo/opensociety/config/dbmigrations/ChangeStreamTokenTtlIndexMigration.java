@@ -0,0 +1,40 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.ChangeStreamToken;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the TTL index removing the resume tokens of the change stream listeners which stopped saving them, such as
+ * the listeners of removed nodes. A token this old is out of any oplog window, and could not be resumed from anyway.
+ */
+@ChangeUnit(id = "change-stream-token-ttl-index", order = "009")
+public class ChangeStreamTokenTtlIndexMigration {
+
+    static final String INDEX_NAME = "updated_date_ttl";
+
+    static final long EXPIRE_AFTER_DAYS = 30;
+
+    private final MongoTemplate template;
+
+    public ChangeStreamTokenTtlIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps(ChangeStreamToken.class)
+            .ensureIndex(new Index().on("updated_date", Sort.Direction.ASC).expire(EXPIRE_AFTER_DAYS, TimeUnit.DAYS).named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(ChangeStreamToken.class).dropIndex(INDEX_NAME);
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.IdempotencyKey;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the TTL index removing the idempotency keys once they expire. Each key holds its own expiry date, so the
+ * retention can be changed without rebuilding the index.
+ */
+@ChangeUnit(id = "idempotency-key-ttl-index", order = "006")
+public class IdempotencyKeyTtlIndexMigration {
+
+    static final String INDEX_NAME = "expires_at_ttl";
+
+    private final MongoTemplate template;
+
+    public IdempotencyKeyTtlIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template.indexOps(IdempotencyKey.class).ensureIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(0).named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(IdempotencyKey.class).dropIndex(INDEX_NAME);
+    }
+}
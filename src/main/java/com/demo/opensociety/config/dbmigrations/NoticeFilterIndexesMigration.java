@@ -0,0 +1,52 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+/**
+ * Creates the compound indexes backing the notice filters.
+ * <p>
+ * Equality fields lead and {@code publish_date, _id} close every index, so a filtered listing is a bounded
+ * index scan already in keyset order. Filtering on the publish date alone uses the keyset index.
+ */
+@ChangeUnit(id = "notice-filter-indexes", order = "002")
+public class NoticeFilterIndexesMigration {
+
+    static final String NOTICE_TYPE_INDEX = "notice_type_publish_date_id";
+    static final String USER_ID_INDEX = "user_id_publish_date_id";
+    static final String USER_ID_NOTICE_TYPE_INDEX = "user_id_notice_type_publish_date_id";
+
+    private final MongoTemplate template;
+
+    public NoticeFilterIndexesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        IndexOperations indexOps = template.indexOps(Notice.class);
+        indexOps.ensureIndex(keysetSuffix(new Index().on("notice_type", Sort.Direction.ASC)).named(NOTICE_TYPE_INDEX));
+        indexOps.ensureIndex(keysetSuffix(new Index().on("user_id", Sort.Direction.ASC)).named(USER_ID_INDEX));
+        indexOps.ensureIndex(
+            keysetSuffix(new Index().on("user_id", Sort.Direction.ASC).on("notice_type", Sort.Direction.ASC)).named(USER_ID_NOTICE_TYPE_INDEX)
+        );
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        IndexOperations indexOps = template.indexOps(Notice.class);
+        indexOps.dropIndex(NOTICE_TYPE_INDEX);
+        indexOps.dropIndex(USER_ID_INDEX);
+        indexOps.dropIndex(USER_ID_NOTICE_TYPE_INDEX);
+    }
+
+    private static Index keysetSuffix(Index index) {
+        return index.on("publish_date", Sort.Direction.DESC).on("_id", Sort.Direction.DESC);
+    }
+}
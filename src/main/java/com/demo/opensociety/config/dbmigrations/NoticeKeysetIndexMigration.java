@@ -0,0 +1,36 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index backing the keyset pagination of notices.
+ */
+@ChangeUnit(id = "notice-keyset-index", order = "001")
+public class NoticeKeysetIndexMigration {
+
+    static final String INDEX_NAME = "publish_date_id";
+
+    private final MongoTemplate template;
+
+    public NoticeKeysetIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps(Notice.class)
+            .ensureIndex(new Index().on("publish_date", Sort.Direction.DESC).on("_id", Sort.Direction.DESC).named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(Notice.class).dropIndex(INDEX_NAME);
+    }
+}
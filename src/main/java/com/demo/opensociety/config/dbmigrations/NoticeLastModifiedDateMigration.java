@@ -0,0 +1,38 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.time.Instant;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Sets a last modified date on the notices created before it was audited, so every notice has an ETag.
+ */
+@ChangeUnit(id = "notice-last-modified-date", order = "004")
+public class NoticeLastModifiedDateMigration {
+
+    private final MongoTemplate template;
+
+    public NoticeLastModifiedDateMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template.updateMulti(
+            new Query(Criteria.where("lastModifiedDate").exists(false)),
+            new Update().set("lastModifiedDate", Instant.now()),
+            Notice.class
+        );
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // The backfilled dates are indistinguishable from audited ones and are kept.
+    }
+}
@@ -0,0 +1,38 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.NoticeEvent;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index serving the claims of the outbox dispatchers, which look for the events whose lease has run out,
+ * oldest first: the claimed events stay in the collection until they are dispatched, and a claim would otherwise scan
+ * them all.
+ */
+@ChangeUnit(id = "notice-outbox-claim-index", order = "010")
+public class NoticeOutboxClaimIndexMigration {
+
+    static final String INDEX_NAME = "claimed_until_created_date";
+
+    private final MongoTemplate template;
+
+    public NoticeOutboxClaimIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps(NoticeEvent.class)
+            .ensureIndex(new Index().on("claimed_until", Sort.Direction.ASC).on("created_date", Sort.Direction.ASC).named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(NoticeEvent.class).dropIndex(INDEX_NAME);
+    }
+}
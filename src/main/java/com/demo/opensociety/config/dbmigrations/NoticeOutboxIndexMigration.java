@@ -0,0 +1,40 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.NoticeEvent;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the notice outbox collection, with the index serving the outbox lag, oldest event first. The claims of the
+ * dispatchers are served by the index of {@link NoticeOutboxClaimIndexMigration}.
+ * <p>
+ * The collection is created up front as MongoDB before 4.4 cannot create a collection inside a transaction.
+ */
+@ChangeUnit(id = "notice-outbox-index", order = "008")
+public class NoticeOutboxIndexMigration {
+
+    static final String INDEX_NAME = "created_date";
+
+    private final MongoTemplate template;
+
+    public NoticeOutboxIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        if (!template.collectionExists(NoticeEvent.class)) {
+            template.createCollection(NoticeEvent.class);
+        }
+        template.indexOps(NoticeEvent.class).ensureIndex(new Index().on("created_date", Sort.Direction.ASC).named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(NoticeEvent.class).dropIndex(INDEX_NAME);
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.time.Instant;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Sets the published flag of the existing notices from their publish date, and creates the partial index of the
+ * unpublished notices by publish date from which the publication scheduler loads its next window.
+ */
+@ChangeUnit(id = "notice-published", order = "007")
+public class NoticePublishedMigration {
+
+    static final String INDEX_NAME = "unpublished_publish_date";
+
+    private final MongoTemplate template;
+
+    public NoticePublishedMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        Instant now = Instant.now();
+        template.updateMulti(
+            new Query(Criteria.where("published").exists(false).and("publishDate").lte(now)),
+            new Update().set("published", true),
+            Notice.class
+        );
+        template.updateMulti(new Query(Criteria.where("published").exists(false)), new Update().set("published", false), Notice.class);
+        template
+            .indexOps(Notice.class)
+            .ensureIndex(
+                new Index()
+                    .on("publish_date", Sort.Direction.ASC)
+                    .partial(PartialIndexFilter.of(Criteria.where("published").is(false)))
+                    .named(INDEX_NAME)
+            );
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(Notice.class).dropIndex(INDEX_NAME);
+    }
+}
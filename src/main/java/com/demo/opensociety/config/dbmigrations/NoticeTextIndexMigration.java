@@ -0,0 +1,36 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+
+/**
+ * Creates the text index backing the full-text search of notices. Matches in the title weigh more than
+ * matches in the body.
+ */
+@ChangeUnit(id = "notice-text-index", order = "003")
+public class NoticeTextIndexMigration {
+
+    static final String INDEX_NAME = "title_body_text";
+
+    private final MongoTemplate template;
+
+    public NoticeTextIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps(Notice.class)
+            .ensureIndex(new TextIndexDefinition.TextIndexDefinitionBuilder().onField("title", 3F).onField("body").named(INDEX_NAME).build());
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps(Notice.class).dropIndex(INDEX_NAME);
+    }
+}
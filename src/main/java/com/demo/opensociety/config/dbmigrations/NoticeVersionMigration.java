@@ -0,0 +1,33 @@
+package com.demo.opensociety.config.dbmigrations;
+
+import com.demo.opensociety.domain.Notice;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Sets the initial version on the notices created before they were versioned, so their updates are checked too.
+ */
+@ChangeUnit(id = "notice-version", order = "005")
+public class NoticeVersionMigration {
+
+    private final MongoTemplate template;
+
+    public NoticeVersionMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template.updateMulti(new Query(Criteria.where("version").exists(false)), new Update().set("version", 0L), Notice.class);
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // The initial versions are kept: they cannot be told apart from those of the notices created since.
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.opensociety.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * The last resume token processed by a change stream listener, so it can resume where it stopped.
+ */
+@Document(collection = "change_stream_token")
+public class ChangeStreamToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("resume_token")
+    private String resumeToken;
+
+    @Field("updated_date")
+    private Instant updatedDate;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public ChangeStreamToken id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getResumeToken() {
+        return this.resumeToken;
+    }
+
+    public ChangeStreamToken resumeToken(String resumeToken) {
+        this.setResumeToken(resumeToken);
+        return this;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    public Instant getUpdatedDate() {
+        return this.updatedDate;
+    }
+
+    public ChangeStreamToken updatedDate(Instant updatedDate) {
+        this.setUpdatedDate(updatedDate);
+        return this;
+    }
+
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ChangeStreamToken)) {
+            return false;
+        }
+        return id != null && id.equals(((ChangeStreamToken) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeStreamToken{" +
+            "id=" + getId() +
+            ", resumeToken='" + getResumeToken() + "'" +
+            ", updatedDate='" + getUpdatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,127 @@
+package com.demo.opensociety.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * An Idempotency-Key sent with a notice creation, and the notice it created, until it expires.
+ * <p>
+ * The key is pending while its notice is being created, until {@code pendingUntil}: a key still pending after that
+ * date was left by a failed creation, and is taken over by the next retry.
+ */
+@Document(collection = "idempotency_key")
+public class IdempotencyKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("notice_id")
+    private String noticeId;
+
+    @Field("request_hash")
+    private String requestHash;
+
+    @Field("pending_until")
+    private Instant pendingUntil;
+
+    @Field("expires_at")
+    private Instant expiresAt;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public IdempotencyKey id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNoticeId() {
+        return this.noticeId;
+    }
+
+    public IdempotencyKey noticeId(String noticeId) {
+        this.setNoticeId(noticeId);
+        return this;
+    }
+
+    public void setNoticeId(String noticeId) {
+        this.noticeId = noticeId;
+    }
+
+    public String getRequestHash() {
+        return this.requestHash;
+    }
+
+    public IdempotencyKey requestHash(String requestHash) {
+        this.setRequestHash(requestHash);
+        return this;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Instant getPendingUntil() {
+        return this.pendingUntil;
+    }
+
+    public IdempotencyKey pendingUntil(Instant pendingUntil) {
+        this.setPendingUntil(pendingUntil);
+        return this;
+    }
+
+    public void setPendingUntil(Instant pendingUntil) {
+        this.pendingUntil = pendingUntil;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public IdempotencyKey expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyKey)) {
+            return false;
+        }
+        return id != null && id.equals(((IdempotencyKey) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+            "id=" + getId() +
+            ", noticeId='" + getNoticeId() + "'" +
+            ", requestHash='" + getRequestHash() + "'" +
+            ", pendingUntil='" + getPendingUntil() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
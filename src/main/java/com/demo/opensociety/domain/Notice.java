@@ -1,10 +1,15 @@
 package com.demo.opensociety.domain;
 
 import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -38,6 +43,21 @@ public class Notice implements Serializable {
     @Field("user_id")
     private Long userId;
 
+    @LastModifiedDate
+    @Field("last_modified_date")
+    @JsonIgnore
+    private Instant lastModifiedDate;
+
+    @Version
+    @Field("version")
+    private Long version;
+
+    @Field("published")
+    private Boolean published;
+
+    @Field("attachments")
+    private List<NoticeAttachment> attachments = new ArrayList<>();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -118,6 +138,58 @@ public class Notice implements Serializable {
         this.userId = userId;
     }
 
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public Notice lastModifiedDate(Instant lastModifiedDate) {
+        this.setLastModifiedDate(lastModifiedDate);
+        return this;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Notice version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getPublished() {
+        return this.published;
+    }
+
+    public Notice published(Boolean published) {
+        this.setPublished(published);
+        return this;
+    }
+
+    public void setPublished(Boolean published) {
+        this.published = published;
+    }
+
+    public List<NoticeAttachment> getAttachments() {
+        return this.attachments;
+    }
+
+    public Notice attachments(List<NoticeAttachment> attachments) {
+        this.setAttachments(attachments);
+        return this;
+    }
+
+    public void setAttachments(List<NoticeAttachment> attachments) {
+        this.attachments = attachments;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -147,6 +219,8 @@ public class Notice implements Serializable {
             ", publishDate='" + getPublishDate() + "'" +
             ", noticeType='" + getNoticeType() + "'" +
             ", userId=" + getUserId() +
+            ", version=" + getVersion() +
+            ", published='" + getPublished() + "'" +
             "}";
     }
 }
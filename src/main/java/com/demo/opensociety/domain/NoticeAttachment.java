@@ -0,0 +1,121 @@
+package com.demo.opensociety.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * The metadata of a file attached to a {@link Notice}, whose content is stored in GridFS.
+ */
+public class NoticeAttachment implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Field("file_id")
+    private String fileId;
+
+    @Field("filename")
+    private String filename;
+
+    @Field("content_type")
+    private String contentType;
+
+    @Field("length")
+    private Long length;
+
+    @Field("upload_date")
+    private Instant uploadDate;
+
+    public String getFileId() {
+        return this.fileId;
+    }
+
+    public NoticeAttachment fileId(String fileId) {
+        this.setFileId(fileId);
+        return this;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getFilename() {
+        return this.filename;
+    }
+
+    public NoticeAttachment filename(String filename) {
+        this.setFilename(filename);
+        return this;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public NoticeAttachment contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getLength() {
+        return this.length;
+    }
+
+    public NoticeAttachment length(Long length) {
+        this.setLength(length);
+        return this;
+    }
+
+    public void setLength(Long length) {
+        this.length = length;
+    }
+
+    public Instant getUploadDate() {
+        return this.uploadDate;
+    }
+
+    public NoticeAttachment uploadDate(Instant uploadDate) {
+        this.setUploadDate(uploadDate);
+        return this;
+    }
+
+    public void setUploadDate(Instant uploadDate) {
+        this.uploadDate = uploadDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoticeAttachment)) {
+            return false;
+        }
+        return fileId != null && fileId.equals(((NoticeAttachment) o).fileId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeAttachment{" +
+            "fileId=" + getFileId() +
+            ", filename='" + getFilename() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", length=" + getLength() +
+            ", uploadDate='" + getUploadDate() + "'" +
+            "}";
+    }
+}
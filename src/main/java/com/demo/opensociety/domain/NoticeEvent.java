@@ -0,0 +1,197 @@
+package com.demo.opensociety.domain;
+
+import com.demo.opensociety.domain.enumeration.NoticeEventType;
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A change of a notice waiting in the outbox to be dispatched, written in the same transaction as the change.
+ * <p>
+ * An event is pending while its claim has expired, and is deleted once dispatched.
+ */
+@Document(collection = "notice_outbox")
+public class NoticeEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("notice_id")
+    private String noticeId;
+
+    @Field("type")
+    private NoticeEventType type;
+
+    @Field("notice_version")
+    private Long noticeVersion;
+
+    /**
+     * The notice as written by the change, or as it was before being deleted.
+     */
+    @Field("notice")
+    private Notice notice;
+
+    @Field("created_date")
+    private Instant createdDate;
+
+    @Field("claimed_by")
+    private String claimedBy;
+
+    @Field("claimed_until")
+    private Instant claimedUntil = Instant.EPOCH;
+
+    @Field("attempts")
+    private int attempts;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public NoticeEvent id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNoticeId() {
+        return this.noticeId;
+    }
+
+    public NoticeEvent noticeId(String noticeId) {
+        this.setNoticeId(noticeId);
+        return this;
+    }
+
+    public void setNoticeId(String noticeId) {
+        this.noticeId = noticeId;
+    }
+
+    public NoticeEventType getType() {
+        return this.type;
+    }
+
+    public NoticeEvent type(NoticeEventType type) {
+        this.setType(type);
+        return this;
+    }
+
+    public void setType(NoticeEventType type) {
+        this.type = type;
+    }
+
+    public Long getNoticeVersion() {
+        return this.noticeVersion;
+    }
+
+    public NoticeEvent noticeVersion(Long noticeVersion) {
+        this.setNoticeVersion(noticeVersion);
+        return this;
+    }
+
+    public void setNoticeVersion(Long noticeVersion) {
+        this.noticeVersion = noticeVersion;
+    }
+
+    public Notice getNotice() {
+        return this.notice;
+    }
+
+    public NoticeEvent notice(Notice notice) {
+        this.setNotice(notice);
+        return this;
+    }
+
+    public void setNotice(Notice notice) {
+        this.notice = notice;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public NoticeEvent createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public String getClaimedBy() {
+        return this.claimedBy;
+    }
+
+    public NoticeEvent claimedBy(String claimedBy) {
+        this.setClaimedBy(claimedBy);
+        return this;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public Instant getClaimedUntil() {
+        return this.claimedUntil;
+    }
+
+    public NoticeEvent claimedUntil(Instant claimedUntil) {
+        this.setClaimedUntil(claimedUntil);
+        return this;
+    }
+
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public int getAttempts() {
+        return this.attempts;
+    }
+
+    public NoticeEvent attempts(int attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoticeEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((NoticeEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeEvent{" +
+            "id=" + getId() +
+            ", noticeId='" + getNoticeId() + "'" +
+            ", type='" + getType() + "'" +
+            ", noticeVersion=" + getNoticeVersion() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", claimedBy='" + getClaimedBy() + "'" +
+            ", claimedUntil='" + getClaimedUntil() + "'" +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
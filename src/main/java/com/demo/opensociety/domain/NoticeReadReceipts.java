@@ -0,0 +1,128 @@
+package com.demo.opensociety.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * The users who have read a notice, as a serialized compressed bitmap of their ids.
+ * <p>
+ * There is one document per notice, with the notice id as id, whatever the number of readers.
+ */
+@Document(collection = "notice_read_receipts")
+public class NoticeReadReceipts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("readers")
+    private byte[] readers;
+
+    @Field("read_count")
+    private long readCount;
+
+    /**
+     * Incremented on every write, the bitmap being merged by read-modify-write.
+     */
+    @Field("version")
+    private long version;
+
+    @Field("last_modified_date")
+    private Instant lastModifiedDate;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public NoticeReadReceipts id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public byte[] getReaders() {
+        return this.readers;
+    }
+
+    public NoticeReadReceipts readers(byte[] readers) {
+        this.setReaders(readers);
+        return this;
+    }
+
+    public void setReaders(byte[] readers) {
+        this.readers = readers;
+    }
+
+    public long getReadCount() {
+        return this.readCount;
+    }
+
+    public NoticeReadReceipts readCount(long readCount) {
+        this.setReadCount(readCount);
+        return this;
+    }
+
+    public void setReadCount(long readCount) {
+        this.readCount = readCount;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public NoticeReadReceipts version(long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public NoticeReadReceipts lastModifiedDate(Instant lastModifiedDate) {
+        this.setLastModifiedDate(lastModifiedDate);
+        return this;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoticeReadReceipts)) {
+            return false;
+        }
+        return id != null && id.equals(((NoticeReadReceipts) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeReadReceipts{" +
+            "id=" + getId() +
+            ", readCount=" + getReadCount() +
+            ", version=" + getVersion() +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.demo.opensociety.domain.enumeration;
+
+/**
+ * The NoticeEventType enumeration.
+ */
+public enum NoticeEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
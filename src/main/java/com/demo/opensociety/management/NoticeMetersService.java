@@ -0,0 +1,129 @@
+package com.demo.opensociety.management;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class NoticeMetersService {
+
+    public static final String SEARCH_TIMER_NAME = "notice.search";
+    public static final String SEARCH_TIMER_DESCRIPTION = "Time spent running full-text searches over the notices.";
+
+    public static final String DELIVERY_TIMER_NAME = "notice.delivery";
+    public static final String DELIVERY_TIMER_DESCRIPTION = "Time from the write of a notice to its delivery to a client.";
+
+    public static final String NOTICE_TYPE_TAG = "notice_type";
+
+    public static final String MAIL_COUNTER_NAME = "notice.mail";
+    public static final String MAIL_COUNTER_DESCRIPTION = "Number of notice emails sent, by result.";
+
+    public static final String MAIL_SESSION_TIMER_NAME = "notice.mail.session";
+    public static final String MAIL_SESSION_TIMER_DESCRIPTION = "Time spent sending a batch of notice emails over an SMTP connection.";
+
+    public static final String MAIL_QUEUE_GAUGE_NAME = "notice.mail.queued";
+    public static final String MAIL_QUEUE_GAUGE_DESCRIPTION = "Number of notice emails waiting to be sent.";
+
+    public static final String OUTBOX_COUNTER_NAME = "notice.outbox.dispatched";
+    public static final String OUTBOX_COUNTER_DESCRIPTION = "Number of notice outbox events dispatched, by result.";
+
+    public static final String OUTBOX_LAG_GAUGE_NAME = "notice.outbox.lag";
+    public static final String OUTBOX_LAG_GAUGE_DESCRIPTION = "Age of the oldest event waiting in the notice outbox.";
+
+    public static final String OUTBOX_THROUGHPUT_GAUGE_NAME = "notice.outbox.throughput";
+    public static final String OUTBOX_THROUGHPUT_GAUGE_DESCRIPTION = "Number of notice outbox events dispatched per second by this node.";
+
+    public static final String RESULT_TAG = "result";
+
+    private final Timer searchTimer;
+
+    private final Map<NoticeType, Timer> deliveryTimers = new EnumMap<>(NoticeType.class);
+
+    private final Counter mailSentCounter;
+
+    private final Counter mailFailedCounter;
+
+    private final Timer mailSessionTimer;
+
+    private final Counter outboxDispatchedCounter;
+
+    private final Counter outboxFailedCounter;
+
+    private final MeterRegistry registry;
+
+    public NoticeMetersService(MeterRegistry registry, ApplicationProperties applicationProperties) {
+        this.registry = registry;
+        this.searchTimer = Timer.builder(SEARCH_TIMER_NAME).description(SEARCH_TIMER_DESCRIPTION).register(registry);
+        Duration latencySlo = Duration.ofMillis(applicationProperties.getEmergency().getLatencySloMs());
+        for (NoticeType noticeType : NoticeType.values()) {
+            this.deliveryTimers.put(
+                    noticeType,
+                    Timer
+                        .builder(DELIVERY_TIMER_NAME)
+                        .description(DELIVERY_TIMER_DESCRIPTION)
+                        .tag(NOTICE_TYPE_TAG, noticeType.name())
+                        .serviceLevelObjectives(latencySlo)
+                        .register(registry)
+                );
+        }
+        this.mailSentCounter = mailCounterForResult("sent");
+        this.mailFailedCounter = mailCounterForResult("failed");
+        this.mailSessionTimer = Timer.builder(MAIL_SESSION_TIMER_NAME).description(MAIL_SESSION_TIMER_DESCRIPTION).register(registry);
+        this.outboxDispatchedCounter = outboxCounterForResult("dispatched");
+        this.outboxFailedCounter = outboxCounterForResult("failed");
+    }
+
+    private Counter mailCounterForResult(String result) {
+        return Counter.builder(MAIL_COUNTER_NAME).description(MAIL_COUNTER_DESCRIPTION).tag(RESULT_TAG, result).register(this.registry);
+    }
+
+    private Counter outboxCounterForResult(String result) {
+        return Counter.builder(OUTBOX_COUNTER_NAME).description(OUTBOX_COUNTER_DESCRIPTION).tag(RESULT_TAG, result).register(this.registry);
+    }
+
+    public <T> T recordSearch(Supplier<T> search) {
+        return this.searchTimer.record(search);
+    }
+
+    public void recordDelivery(NoticeType noticeType, Duration latency) {
+        if (noticeType != null && !latency.isNegative()) {
+            this.deliveryTimers.get(noticeType).record(latency);
+        }
+    }
+
+    public void recordMailSession(int sent, int failed, Duration duration) {
+        this.mailSentCounter.increment(sent);
+        this.mailFailedCounter.increment(failed);
+        this.mailSessionTimer.record(duration);
+    }
+
+    public void registerMailQueue(Supplier<Number> queued) {
+        Gauge.builder(MAIL_QUEUE_GAUGE_NAME, queued).description(MAIL_QUEUE_GAUGE_DESCRIPTION).register(this.registry);
+    }
+
+    public void recordOutboxDispatch(int dispatched, int failed) {
+        this.outboxDispatchedCounter.increment(dispatched);
+        this.outboxFailedCounter.increment(failed);
+    }
+
+    public void registerOutbox(Supplier<Number> lagSeconds, Supplier<Number> throughput) {
+        Gauge
+            .builder(OUTBOX_LAG_GAUGE_NAME, lagSeconds)
+            .description(OUTBOX_LAG_GAUGE_DESCRIPTION)
+            .baseUnit("seconds")
+            .register(this.registry);
+        Gauge
+            .builder(OUTBOX_THROUGHPUT_GAUGE_NAME, throughput)
+            .description(OUTBOX_THROUGHPUT_GAUGE_DESCRIPTION)
+            .baseUnit("events.per.second")
+            .register(this.registry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.ChangeStreamToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the ChangeStreamToken entity.
+ */
+@Repository
+public interface ChangeStreamTokenRepository extends MongoRepository<ChangeStreamToken, String> {}
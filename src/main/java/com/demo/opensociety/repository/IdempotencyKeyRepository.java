@@ -0,0 +1,13 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.IdempotencyKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the IdempotencyKey entity.
+ * <p>
+ * Expired keys are removed by the TTL index on {@code expires_at}.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends MongoRepository<IdempotencyKey, String>, IdempotencyKeyRepositoryCustom {}
@@ -0,0 +1,33 @@
+package com.demo.opensociety.repository;
+
+import java.time.Instant;
+
+/**
+ * Custom queries of the {@link IdempotencyKeyRepository}.
+ */
+public interface IdempotencyKeyRepositoryCustom {
+    /**
+     * Take over a key left pending by a failed creation, so that no other retry takes it until the new lease expires.
+     *
+     * @param id the id of the key.
+     * @param pendingUntil the expired end of the lease, as read from the key.
+     * @param newPendingUntil the end of the new lease.
+     * @return whether the key was taken over, false if another retry took it over or completed it first.
+     */
+    boolean takeOver(String id, Instant pendingUntil, Instant newPendingUntil);
+
+    /**
+     * Delete a key whose notice could not be created, so that a retry can create it.
+     *
+     * @param id the id of the key.
+     * @param pendingUntil the end of the lease of the failed request, so that a key taken over since is kept.
+     */
+    void release(String id, Instant pendingUntil);
+
+    /**
+     * Mark a key as completed, its notice being created.
+     *
+     * @param id the id of the key.
+     */
+    void complete(String id);
+}
@@ -0,0 +1,37 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.IdempotencyKey;
+import java.time.Instant;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * {@link MongoTemplate} based implementation of {@link IdempotencyKeyRepositoryCustom}.
+ */
+public class IdempotencyKeyRepositoryCustomImpl implements IdempotencyKeyRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public IdempotencyKeyRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean takeOver(String id, Instant pendingUntil, Instant newPendingUntil) {
+        Query query = new Query(Criteria.where("id").is(id).and("pendingUntil").is(pendingUntil));
+        Update update = new Update().set("pendingUntil", newPendingUntil);
+        return mongoTemplate.updateFirst(query, update, IdempotencyKey.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void release(String id, Instant pendingUntil) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(id).and("pendingUntil").is(pendingUntil)), IdempotencyKey.class);
+    }
+
+    @Override
+    public void complete(String id) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(id)), new Update().unset("pendingUntil"), IdempotencyKey.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Storage codec of the notice bodies: when {@code application.body-compression.enabled}, bodies larger than
+ * {@code application.body-compression.threshold-bytes} are stored deflated, as binary data of a user defined subtype.
+ * <p>
+ * Compressed bodies are inflated in the loaded notice documents, before they are mapped, so reads never depend on the
+ * current settings. Only the body of the notices is decoded: binary data in any other field is left to the mapping.
+ * Bodies are inflated eagerly, whether or not they are read: compression saves storage and network transfer, not
+ * memory, as the loaded and cached notices hold their inflated body. The summary projections never read the body.
+ * The text index does not cover compressed bodies: search only matches their title.
+ */
+@Component
+public class NoticeBodyCodec extends AbstractMongoEventListener<Notice> implements BeforeSaveCallback<Notice> {
+
+    /**
+     * User defined BSON binary subtype of the compressed bodies.
+     */
+    static final byte BINARY_SUBTYPE = (byte) 0x80;
+
+    /**
+     * First byte of a compressed body, identifying its compression format.
+     */
+    private static final byte DEFLATE = 1;
+
+    private final ApplicationProperties.BodyCompression properties;
+
+    public NoticeBodyCodec(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getBodyCompression();
+    }
+
+    /**
+     * Compress the body of the notices written through the repository.
+     */
+    @Override
+    public Notice onBeforeSave(Notice entity, Document document, String collection) {
+        Object body = document.get("body");
+        if (body instanceof String) {
+            document.put("body", encode((String) body));
+        }
+        return entity;
+    }
+
+    /**
+     * Inflate the body of the notices read through the repository, before they are mapped.
+     */
+    @Override
+    public void onAfterLoad(AfterLoadEvent<Notice> event) {
+        if (event.getDocument() != null) {
+            decodeBody(event.getDocument());
+        }
+    }
+
+    /**
+     * Decode the body of a notice document read without going through the repository, such as the full document of a
+     * change event.
+     *
+     * @param document the notice document, whose body is replaced by its text if it is stored as binary data.
+     * @return the document.
+     */
+    public static Document decodeBody(Document document) {
+        Object body = document.get("body");
+        if (body instanceof Binary) {
+            document.put("body", decode((Binary) body));
+        }
+        return document;
+    }
+
+    /**
+     * Get the value to store for a body.
+     *
+     * @param body the body.
+     * @return the compressed body if compression is enabled, the body is larger than the threshold and compressing it
+     * saves space, the body itself otherwise.
+     */
+    public Object encode(String body) {
+        // A UTF-8 encoded body has at least as many bytes as chars.
+        if (body == null || !properties.isEnabled() || body.length() < properties.getThresholdBytes()) {
+            return body;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < properties.getThresholdBytes()) {
+            return body;
+        }
+        byte[] compressed = deflate(bytes, properties.getLevel());
+        return compressed.length < bytes.length ? new Binary(BINARY_SUBTYPE, compressed) : body;
+    }
+
+    /**
+     * Decode a stored body.
+     *
+     * @param binary the stored binary body.
+     * @return the body.
+     */
+    public static String decode(Binary binary) {
+        byte[] data = binary.getData();
+        if (binary.getType() != BINARY_SUBTYPE || data.length == 0 || data[0] != DEFLATE) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    static byte[] deflate(byte[] bytes, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            out.write(DEFLATE);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed notice body");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed notice body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.Notice;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset position in the notice collection, ordered by {@code publish_date} then {@code _id}.
+ * <p>
+ * The position is exchanged with clients as an opaque, URL-safe continuation token.
+ */
+public final class NoticeCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final Instant publishDate;
+
+    private final String id;
+
+    public NoticeCursor(Instant publishDate, String id) {
+        this.publishDate = Objects.requireNonNull(publishDate, "publishDate");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Build the cursor positioned on the given notice.
+     *
+     * @param notice the last notice of a page.
+     * @return the cursor pointing right after this notice.
+     */
+    public static NoticeCursor of(Notice notice) {
+        return new NoticeCursor(notice.getPublishDate(), notice.getId());
+    }
+
+    /**
+     * Build the cursor positioned on the given notice summary.
+     *
+     * @param summary the last notice summary of a page.
+     * @return the cursor pointing right after this notice.
+     */
+    public static NoticeCursor of(NoticeSummary summary) {
+        return new NoticeCursor(summary.getPublishDate(), summary.getId());
+    }
+
+    /**
+     * Decode a continuation token previously produced by {@link #encode()}.
+     *
+     * @param token the continuation token.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static NoticeCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed notice cursor", e);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed notice cursor");
+        }
+        try {
+            return new NoticeCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed notice cursor", e);
+        }
+    }
+
+    /**
+     * Encode this cursor as an opaque continuation token.
+     *
+     * @return the continuation token.
+     */
+    public String encode() {
+        String raw = publishDate.toEpochMilli() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getPublishDate() {
+        return publishDate;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoticeCursor)) {
+            return false;
+        }
+        NoticeCursor that = (NoticeCursor) o;
+        return publishDate.equals(that.publishDate) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(publishDate, id);
+    }
+
+    @Override
+    public String toString() {
+        return "NoticeCursor{publishDate=" + publishDate + ", id='" + id + "'}";
+    }
+}
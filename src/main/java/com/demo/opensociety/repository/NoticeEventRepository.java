@@ -0,0 +1,11 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.NoticeEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the NoticeEvent entity, the outbox of the notice changes.
+ */
+@Repository
+public interface NoticeEventRepository extends MongoRepository<NoticeEvent, String>, NoticeEventRepositoryCustom {}
@@ -0,0 +1,40 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.NoticeEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom queries of the {@link NoticeEventRepository}.
+ */
+public interface NoticeEventRepositoryCustom {
+    /**
+     * Claim a batch of the oldest pending events, so that no other dispatcher takes them until the lease expires.
+     * <p>
+     * Claiming is one query for the candidates and one multi-update conditioned on them still being pending, so
+     * concurrent dispatchers never get the same event while its lease runs.
+     *
+     * @param claimer the id of the dispatcher.
+     * @param now the current date.
+     * @param lease the time during which the claimed events are reserved.
+     * @param limit the maximum number of events to claim.
+     * @return the claimed events, oldest first.
+     */
+    List<NoticeEvent> claim(String claimer, Instant now, Duration lease, int limit);
+
+    /**
+     * Give back claimed events which could not be dispatched, to be dispatched again from a given date.
+     *
+     * @param ids the ids of the events.
+     * @param retryAt the date from which the events are pending again.
+     */
+    void release(Collection<String> ids, Instant retryAt);
+
+    /**
+     * @return the creation date of the oldest event of the outbox, if any.
+     */
+    Optional<Instant> findOldestCreatedDate();
+}
@@ -0,0 +1,67 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.NoticeEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * {@link MongoTemplate} based implementation of {@link NoticeEventRepositoryCustom}.
+ */
+public class NoticeEventRepositoryCustomImpl implements NoticeEventRepositoryCustom {
+
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdDate");
+
+    private final MongoTemplate mongoTemplate;
+
+    public NoticeEventRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<NoticeEvent> claim(String claimer, Instant now, Duration lease, int limit) {
+        Query pending = new Query(Criteria.where("claimedUntil").lte(now)).with(OLDEST_FIRST).limit(limit);
+        pending.fields().include("id");
+        List<String> ids = mongoTemplate.find(pending, NoticeEvent.class).stream().map(NoticeEvent::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Unique to this call, so that only the events won by this claim are read back.
+        String claim = claimer + ":" + new ObjectId().toHexString();
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("id").in(ids).and("claimedUntil").lte(now)),
+            new Update().set("claimedBy", claim).set("claimedUntil", now.plus(lease)),
+            NoticeEvent.class
+        );
+        // Looked up by id, as claimedBy is not indexed.
+        return mongoTemplate.find(new Query(Criteria.where("id").in(ids).and("claimedBy").is(claim)).with(OLDEST_FIRST), NoticeEvent.class);
+    }
+
+    @Override
+    public void release(Collection<String> ids, Instant retryAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("id").in(ids)),
+            new Update().unset("claimedBy").set("claimedUntil", retryAt).inc("attempts", 1),
+            NoticeEvent.class
+        );
+    }
+
+    @Override
+    public Optional<Instant> findOldestCreatedDate() {
+        Query oldest = new Query().with(OLDEST_FIRST).limit(1);
+        oldest.fields().include("createdDate");
+        return Optional.ofNullable(mongoTemplate.findOne(oldest, NoticeEvent.class)).map(NoticeEvent::getCreatedDate);
+    }
+}
@@ -0,0 +1,109 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Filter on the notices, bound from the query parameters of the Notice API.
+ * <p>
+ * Every non-null field restricts the result; the publish date window is {@code [publishDateFrom, publishDateTo)}.
+ */
+public class NoticeFilter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private NoticeType noticeType;
+
+    private Long userId;
+
+    private Instant publishDateFrom;
+
+    private Instant publishDateTo;
+
+    private Boolean published;
+
+    public NoticeType getNoticeType() {
+        return noticeType;
+    }
+
+    public NoticeFilter noticeType(NoticeType noticeType) {
+        this.setNoticeType(noticeType);
+        return this;
+    }
+
+    public void setNoticeType(NoticeType noticeType) {
+        this.noticeType = noticeType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public NoticeFilter userId(Long userId) {
+        this.setUserId(userId);
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getPublishDateFrom() {
+        return publishDateFrom;
+    }
+
+    public NoticeFilter publishDateFrom(Instant publishDateFrom) {
+        this.setPublishDateFrom(publishDateFrom);
+        return this;
+    }
+
+    public void setPublishDateFrom(Instant publishDateFrom) {
+        this.publishDateFrom = publishDateFrom;
+    }
+
+    public Instant getPublishDateTo() {
+        return publishDateTo;
+    }
+
+    public NoticeFilter publishDateTo(Instant publishDateTo) {
+        this.setPublishDateTo(publishDateTo);
+        return this;
+    }
+
+    public void setPublishDateTo(Instant publishDateTo) {
+        this.publishDateTo = publishDateTo;
+    }
+
+    public Boolean getPublished() {
+        return published;
+    }
+
+    public NoticeFilter published(Boolean published) {
+        this.setPublished(published);
+        return this;
+    }
+
+    public void setPublished(Boolean published) {
+        this.published = published;
+    }
+
+    /**
+     * @return true if no restriction is set on this filter.
+     */
+    public boolean isEmpty() {
+        return noticeType == null && userId == null && publishDateFrom == null && publishDateTo == null && published == null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeFilter{" +
+            "noticeType=" + getNoticeType() +
+            ", userId=" + getUserId() +
+            ", publishDateFrom=" + getPublishDateFrom() +
+            ", publishDateTo=" + getPublishDateTo() +
+            ", published=" + getPublished() +
+            "}";
+    }
+}
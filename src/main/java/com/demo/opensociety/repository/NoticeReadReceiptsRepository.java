@@ -0,0 +1,11 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.NoticeReadReceipts;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the NoticeReadReceipts entity.
+ */
+@Repository
+public interface NoticeReadReceiptsRepository extends MongoRepository<NoticeReadReceipts, String>, NoticeReadReceiptsRepositoryCustom {}
@@ -0,0 +1,46 @@
+package com.demo.opensociety.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+/**
+ * Custom queries of the {@link NoticeReadReceiptsRepository}, working on the readers as bitmaps of user ids.
+ */
+public interface NoticeReadReceiptsRepositoryCustom {
+    /**
+     * Add readers to the receipts of a notice.
+     * <p>
+     * The stored bitmap is merged with the new readers and written back only if no other write happened in between,
+     * retrying otherwise, so that concurrent writers never lose each other's readers.
+     *
+     * @param noticeId the id of the notice.
+     * @param readers the ids of the users who have read the notice.
+     */
+    void addReaders(String noticeId, Roaring64NavigableMap readers);
+
+    /**
+     * Get the readers of a notice.
+     *
+     * @param noticeId the id of the notice.
+     * @return the ids of the users who have read the notice, or empty if there are none.
+     */
+    Optional<Roaring64NavigableMap> findReaders(String noticeId);
+
+    /**
+     * Get the readers of several notices, with a single query.
+     *
+     * @param noticeIds the ids of the notices.
+     * @return the readers by notice id, for the notices which have some.
+     */
+    Map<String, Roaring64NavigableMap> findAllReaders(Collection<String> noticeIds);
+
+    /**
+     * Count the readers of a notice, without loading them.
+     *
+     * @param noticeId the id of the notice.
+     * @return the number of users who have read the notice.
+     */
+    long countReaders(String noticeId);
+}
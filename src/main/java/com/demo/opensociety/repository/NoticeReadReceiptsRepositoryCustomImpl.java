@@ -0,0 +1,122 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.NoticeReadReceipts;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * {@link MongoTemplate} based implementation of {@link NoticeReadReceiptsRepositoryCustom}.
+ * <p>
+ * Readers are stored as serialized {@link Roaring64NavigableMap}s: runs and dense ranges of user ids take a few bits
+ * per reader, and sparse ones little more than their own size.
+ */
+public class NoticeReadReceiptsRepositoryCustomImpl implements NoticeReadReceiptsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public NoticeReadReceiptsRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void addReaders(String noticeId, Roaring64NavigableMap readers) {
+        while (true) {
+            NoticeReadReceipts stored = mongoTemplate.findById(noticeId, NoticeReadReceipts.class);
+            Roaring64NavigableMap merged = stored != null ? deserialize(stored.getReaders()) : new Roaring64NavigableMap();
+            long readCount = merged.getLongCardinality();
+            merged.or(readers);
+            if (stored != null && merged.getLongCardinality() == readCount) {
+                // Every reader was already known.
+                return;
+            }
+            merged.runOptimize();
+            byte[] serialized = serialize(merged);
+            if (stored == null) {
+                try {
+                    mongoTemplate.insert(
+                        new NoticeReadReceipts()
+                            .id(noticeId)
+                            .readers(serialized)
+                            .readCount(merged.getLongCardinality())
+                            .version(0)
+                            .lastModifiedDate(Instant.now())
+                    );
+                    return;
+                } catch (DuplicateKeyException e) {
+                    // Inserted concurrently: merged with it on the next attempt.
+                    continue;
+                }
+            }
+            Query unchanged = new Query(Criteria.where("id").is(noticeId).and("version").is(stored.getVersion()));
+            Update update = new Update()
+                .set("readers", serialized)
+                .set("readCount", merged.getLongCardinality())
+                .currentDate("lastModifiedDate")
+                .inc("version", 1);
+            if (mongoTemplate.updateFirst(unchanged, update, NoticeReadReceipts.class).getModifiedCount() == 1) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Roaring64NavigableMap> findReaders(String noticeId) {
+        Query query = new Query(Criteria.where("id").is(noticeId));
+        query.fields().include("readers");
+        return Optional.ofNullable(mongoTemplate.findOne(query, NoticeReadReceipts.class)).map(found -> deserialize(found.getReaders()));
+    }
+
+    @Override
+    public Map<String, Roaring64NavigableMap> findAllReaders(Collection<String> noticeIds) {
+        Query query = new Query(Criteria.where("id").in(noticeIds));
+        query.fields().include("readers");
+        Map<String, Roaring64NavigableMap> readers = new HashMap<>();
+        for (NoticeReadReceipts found : mongoTemplate.find(query, NoticeReadReceipts.class)) {
+            readers.put(found.getId(), deserialize(found.getReaders()));
+        }
+        return readers;
+    }
+
+    @Override
+    public long countReaders(String noticeId) {
+        Query query = new Query(Criteria.where("id").is(noticeId));
+        query.fields().include("readCount");
+        NoticeReadReceipts found = mongoTemplate.findOne(query, NoticeReadReceipts.class);
+        return found != null ? found.getReadCount() : 0;
+    }
+
+    private static byte[] serialize(Roaring64NavigableMap readers) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) readers.serializedSizeInBytes());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            readers.serialize(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Roaring64NavigableMap deserialize(byte[] serialized) {
+        Roaring64NavigableMap readers = new Roaring64NavigableMap();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+            readers.deserialize(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return readers;
+    }
+}
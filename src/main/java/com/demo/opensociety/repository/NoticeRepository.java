@@ -1,13 +1,111 @@
 package com.demo.opensociety.repository;
 
 import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeAttachment;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data MongoDB repository for the Notice entity.
+ * <p>
+ * Every write through this repository evicts the affected entries of the {@link #NOTICES_BY_ID_CACHE} cache.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface NoticeRepository extends MongoRepository<Notice, String> {}
+public interface NoticeRepository extends MongoRepository<Notice, String>, NoticeRepositoryCustom {
+    String NOTICES_BY_ID_CACHE = "noticesById";
+
+    /**
+     * Get a notice by id, through the {@link #NOTICES_BY_ID_CACHE} cache.
+     * <p>
+     * The returned instance is shared with other readers and must not be modified: use {@link #findById(Object)}
+     * to load a notice that is going to be updated.
+     *
+     * @param id the id of the notice.
+     * @return the notice, if found.
+     */
+    @Cacheable(cacheNames = NOTICES_BY_ID_CACHE, unless = "#result == null")
+    Optional<Notice> findOneById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0.id")
+    <S extends Notice> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, allEntries = true)
+    <S extends Notice> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0.id")
+    Optional<Notice> patch(Notice notice, Long expectedVersion);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0.id")
+    Optional<Notice> replace(Notice notice, Long expectedVersion);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0")
+    Optional<Notice> publish(String id, Instant now);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0")
+    Optional<Notice> addAttachment(String id, NoticeAttachment attachment);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0")
+    Optional<Notice> removeAttachment(String id, String fileId);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0")
+    Optional<Notice> findAndDeleteById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0")
+    void deleteById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, key = "#p0.id")
+    void delete(Notice entity);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, allEntries = true)
+    void deleteAllById(Iterable<? extends String> ids);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, allEntries = true)
+    void deleteAll(Iterable<? extends Notice> entities);
+
+    @Override
+    @CacheEvict(cacheNames = NOTICES_BY_ID_CACHE, allEntries = true)
+    void deleteAll();
+
+    /**
+     * Stream all the notices in {@code _id} order, backed by a server side cursor.
+     * <p>
+     * The returned stream must be closed to release the cursor.
+     *
+     * @return the stream of all notices.
+     */
+    @Meta(cursorBatchSize = 500)
+    Stream<Notice> streamAllByOrderByIdAsc();
+
+    /**
+     * Stream the id and title of all the notices, oldest first, backed by a server side cursor.
+     * <p>
+     * The notices are sorted like the keyset pagination, in reverse. The returned stream must be closed to release the
+     * cursor.
+     *
+     * @return the stream of notices, with only their id and title set.
+     */
+    @Query(value = "{}", fields = "{ 'title': 1 }", sort = "{ 'publish_date': 1, '_id': 1 }")
+    @Meta(cursorBatchSize = 1000)
+    Stream<Notice> streamTitlesBy();
+}
@@ -0,0 +1,194 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeAttachment;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom queries of the Notice repository which can not be expressed as derived queries.
+ */
+public interface NoticeRepositoryCustom {
+    /**
+     * Collection of the archived notices, which keeps the documents of the notice collection as they were.
+     */
+    String ARCHIVE_COLLECTION = "notice_archive";
+
+    /**
+     * Get all the notices matching the filter, newest {@code publish_date} first.
+     *
+     * @param filter the filter to apply.
+     * @return the matching notices.
+     */
+    List<Notice> findAll(NoticeFilter filter);
+
+    /**
+     * Get a page of notices in keyset order: newest {@code publish_date} first, ties broken by {@code _id}.
+     * <p>
+     * The cost of a page does not depend on its position in the collection, as the query seeks directly
+     * into the {@code publish_date, _id} index instead of skipping over previous pages.
+     *
+     * @param filter the filter to apply.
+     * @param after the position of the last notice of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of notices to return.
+     * @return the notices of the page.
+     */
+    List<Notice> findPageAfter(NoticeFilter filter, NoticeCursor after, int limit);
+
+    /**
+     * Same as {@link #findAll(NoticeFilter)}, but only the id and the version of the notices are fetched.
+     *
+     * @param filter the filter to apply.
+     * @return the matching notices, with only their id and version set.
+     */
+    List<Notice> findAllVersions(NoticeFilter filter);
+
+    /**
+     * Same as {@link #findPageAfter(NoticeFilter, NoticeCursor, int)}, but only the id, the publish date and the last
+     * modified date of the notices are fetched.
+     *
+     * @param filter the filter to apply.
+     * @param after the position of the last notice of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of notices to return.
+     * @return the notices of the page, with only their id, publish date and version set.
+     */
+    List<Notice> findPageVersionsAfter(NoticeFilter filter, NoticeCursor after, int limit);
+
+    /**
+     * Get a page of notice summaries in keyset order, like {@link #findPageAfter(NoticeFilter, NoticeCursor, int)}.
+     * <p>
+     * Only the summary fields are read from the database: the notice bodies are never fetched.
+     *
+     * @param filter the filter to apply.
+     * @param after the position of the last notice of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of notices to return.
+     * @return the notice summaries of the page.
+     */
+    List<NoticeSummary> findSummaryPageAfter(NoticeFilter filter, NoticeCursor after, int limit);
+
+    /**
+     * Full-text search over the notice titles and bodies, most relevant notices first.
+     *
+     * @param text the words to search for.
+     * @param pageable the pagination information; its sort is ignored in favour of the relevance.
+     * @return the page of matching notices.
+     */
+    Page<Notice> search(String text, Pageable pageable);
+
+    /**
+     * Insert new notices with unordered bulk writes, {@code batchSize} notices per round trip.
+     * <p>
+     * Notices without id get one before being sent. A failing notice does not prevent the others of its batch
+     * from being inserted.
+     *
+     * @param notices the notices to insert.
+     * @param batchSize the maximum number of notices per bulk write.
+     * @return the error message of every notice which could not be inserted, by index in {@code notices}.
+     */
+    Map<Integer, String> insertUnordered(List<Notice> notices, int batchSize);
+
+    /**
+     * Atomically set the non-null fields of a notice on the stored notice of the same id, in a single
+     * {@code findAndModify} round trip which also increments its version.
+     *
+     * @param notice the notice holding the id and the fields to update.
+     * @param expectedVersion the version the stored notice must have to be updated, or {@code null} to update any version.
+     * @return the updated notice, or empty if no notice has this id and the expected version.
+     */
+    Optional<Notice> patch(Notice notice, Long expectedVersion);
+
+    /**
+     * Replace all the fields of the stored notice of the same id, in a single round trip which never inserts a notice
+     * and increments its version.
+     *
+     * @param notice the notice to store.
+     * @param expectedVersion the version the stored notice must have to be replaced, or {@code null} to replace any version.
+     * @return the replaced notice, or empty if no notice has this id and the expected version.
+     */
+    Optional<Notice> replace(Notice notice, Long expectedVersion);
+
+    /**
+     * Find the notices not published yet which are due before a given date, in publish date order.
+     *
+     * @param until the exclusive upper bound of the publish date.
+     * @return the matching notices, with only their id, publish date, published flag and notice type set.
+     */
+    List<Notice> findUnpublishedBefore(Instant until);
+
+    /**
+     * Mark a notice as published, if it is not yet and its publish date has come.
+     * <p>
+     * The check and the update are a single atomic write, so a notice is published once even when several nodes try.
+     *
+     * @param id the id of the notice.
+     * @param now the current date.
+     * @return the published notice, or empty if the notice does not exist, is already published or is not due.
+     */
+    Optional<Notice> publish(String id, Instant now);
+
+    /**
+     * Add an attachment to a notice, incrementing its version.
+     *
+     * @param id the id of the notice.
+     * @param attachment the metadata of the attachment.
+     * @return the updated notice, or empty if no notice has this id.
+     */
+    Optional<Notice> addAttachment(String id, NoticeAttachment attachment);
+
+    /**
+     * Remove an attachment from a notice, incrementing its version.
+     *
+     * @param id the id of the notice.
+     * @param fileId the GridFS file id of the attachment.
+     * @return the updated notice, or empty if the notice has no such attachment.
+     */
+    Optional<Notice> removeAttachment(String id, String fileId);
+
+    /**
+     * Delete a notice by id, in a single atomic write.
+     *
+     * @param id the id of the notice.
+     * @return the notice as it was before being deleted, or empty if no notice has this id.
+     */
+    Optional<Notice> findAndDeleteById(String id);
+
+    /**
+     * Move a batch of the oldest published notices, published before a given date, to the archive collection.
+     * <p>
+     * Notices are copied as they are, then removed from the notice collection only if they were not modified in
+     * between; a modified notice is archived again by the next call.
+     *
+     * @param cutoff the exclusive upper bound of the publish date of the notices to archive.
+     * @param batchSize the maximum number of notices to archive.
+     * @return the ids of the notices moved to the archive.
+     */
+    List<String> archivePublishedBefore(Instant cutoff, int batchSize);
+
+    /**
+     * Get an archived notice by id.
+     *
+     * @param id the id of the notice.
+     * @return the archived notice, if found.
+     */
+    Optional<Notice> findArchivedById(String id);
+
+    /**
+     * Get the archived notices of the given ids.
+     *
+     * @param ids the ids of the notices.
+     * @return the archived notices found, in no particular order.
+     */
+    List<Notice> findAllArchivedById(Collection<String> ids);
+
+    /**
+     * Delete an archived notice by id.
+     *
+     * @param id the id of the notice.
+     */
+    void deleteArchivedById(String id);
+}
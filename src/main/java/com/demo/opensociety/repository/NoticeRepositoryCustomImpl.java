@@ -0,0 +1,307 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeAttachment;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * {@link MongoTemplate} based implementation of {@link NoticeRepositoryCustom}.
+ */
+public class NoticeRepositoryCustomImpl implements NoticeRepositoryCustom {
+
+    static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "publishDate", "id");
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final NoticeBodyCodec noticeBodyCodec;
+
+    public NoticeRepositoryCustomImpl(MongoTemplate mongoTemplate, NoticeBodyCodec noticeBodyCodec) {
+        this.mongoTemplate = mongoTemplate;
+        this.noticeBodyCodec = noticeBodyCodec;
+    }
+
+    @Override
+    public List<Notice> findAll(NoticeFilter filter) {
+        return mongoTemplate.find(filtered(filter).with(KEYSET_SORT), Notice.class);
+    }
+
+    @Override
+    public List<Notice> findPageAfter(NoticeFilter filter, NoticeCursor after, int limit) {
+        return mongoTemplate.find(keysetPage(filter, after, limit), Notice.class);
+    }
+
+    @Override
+    public List<Notice> findAllVersions(NoticeFilter filter) {
+        Query query = filtered(filter);
+        query.fields().include("version");
+        return mongoTemplate.find(query, Notice.class);
+    }
+
+    @Override
+    public List<Notice> findPageVersionsAfter(NoticeFilter filter, NoticeCursor after, int limit) {
+        Query query = keysetPage(filter, after, limit);
+        query.fields().include("publishDate", "version");
+        return mongoTemplate.find(query, Notice.class);
+    }
+
+    @Override
+    public List<NoticeSummary> findSummaryPageAfter(NoticeFilter filter, NoticeCursor after, int limit) {
+        Query query = keysetPage(filter, after, limit);
+        query.fields().include(NoticeSummary.FIELDS);
+        return mongoTemplate.query(Notice.class).as(NoticeSummary.class).matching(query).all();
+    }
+
+    @Override
+    public Page<Notice> search(String text, Pageable pageable) {
+        TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(text);
+        Query query = TextQuery.queryText(criteria).sortByScore().skip(pageable.getOffset()).limit(pageable.getPageSize());
+        List<Notice> notices = mongoTemplate.find(query, Notice.class);
+        return PageableExecutionUtils.getPage(notices, pageable, () -> mongoTemplate.count(new Query(criteria), Notice.class));
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Notice> notices, int batchSize) {
+        Map<Integer, String> errors = new TreeMap<>();
+        for (int from = 0; from < notices.size(); from += batchSize) {
+            List<Notice> batch = notices.subList(from, Math.min(from + batchSize, notices.size()));
+            // Bulk inserts neither report the generated ids back to the entities nor initialize their versions.
+            batch.stream().filter(notice -> notice.getId() == null).forEach(notice -> notice.setId(new ObjectId().toHexString()));
+            batch.forEach(notice -> notice.version(0L).setPublished(false));
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notice.class).insert(batch).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    errors.put(from + error.getIndex(), error.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public Optional<Notice> patch(Notice notice, Long expectedVersion) {
+        Update update = new Update();
+        if (notice.getTitle() != null) {
+            update.set("title", notice.getTitle());
+        }
+        if (notice.getBody() != null) {
+            update.set("body", noticeBodyCodec.encode(notice.getBody()));
+        }
+        if (notice.getPublishDate() != null) {
+            update.set("publishDate", notice.getPublishDate());
+        }
+        if (notice.getNoticeType() != null) {
+            update.set("noticeType", notice.getNoticeType());
+        }
+        if (notice.getUserId() != null) {
+            update.set("userId", notice.getUserId());
+        }
+        return update(notice.getId(), expectedVersion, update);
+    }
+
+    @Override
+    public Optional<Notice> replace(Notice notice, Long expectedVersion) {
+        Update update = new Update()
+            .set("title", notice.getTitle())
+            .set("body", noticeBodyCodec.encode(notice.getBody()))
+            .set("publishDate", notice.getPublishDate())
+            .set("noticeType", notice.getNoticeType())
+            .set("userId", notice.getUserId());
+        return update(notice.getId(), expectedVersion, update);
+    }
+
+    @Override
+    public List<Notice> findUnpublishedBefore(Instant until) {
+        // The published criteria matches the partial index of the unpublished notices, so published ones are never read.
+        Query query = new Query(Criteria.where("published").is(false).and("publishDate").lt(until))
+            .with(Sort.by(Sort.Direction.ASC, "publishDate"));
+        query.fields().include("publishDate", "published", "noticeType");
+        return mongoTemplate.find(query, Notice.class);
+    }
+
+    @Override
+    public Optional<Notice> publish(String id, Instant now) {
+        Query query = new Query(Criteria.where("id").is(id).and("published").is(false).and("publishDate").lte(now));
+        Update update = new Update().set("published", true).currentDate("lastModifiedDate").inc("version", 1);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(false);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, Notice.class));
+    }
+
+    @Override
+    public Optional<Notice> addAttachment(String id, NoticeAttachment attachment) {
+        return update(id, null, new Update().push("attachments", attachment));
+    }
+
+    @Override
+    public Optional<Notice> removeAttachment(String id, String fileId) {
+        Query query = new Query(Criteria.where("id").is(id).and("attachments.fileId").is(fileId));
+        Update update = new Update()
+            .pull("attachments", new Document("file_id", fileId))
+            .currentDate("lastModifiedDate")
+            .inc("version", 1);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(false);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, Notice.class));
+    }
+
+    @Override
+    public Optional<Notice> findAndDeleteById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(new Query(Criteria.where("id").is(id)), Notice.class));
+    }
+
+    @Override
+    public List<String> archivePublishedBefore(Instant cutoff, int batchSize) {
+        // Raw documents are moved as they are: mapping them to notices would audit them again.
+        MongoCollection<Document> notices = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Notice.class));
+        List<Document> documents = notices
+            .find(Filters.and(Filters.eq("published", true), Filters.lt("publish_date", Date.from(cutoff))))
+            .sort(Sorts.ascending("publish_date"))
+            .limit(batchSize)
+            .into(new ArrayList<>());
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+        // Upserts, so that a batch copied by an interrupted or concurrent run is copied again without error.
+        mongoTemplate
+            .getCollection(ARCHIVE_COLLECTION)
+            .bulkWrite(
+                documents
+                    .stream()
+                    .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document, UPSERT))
+                    .collect(Collectors.toList()),
+                unordered
+            );
+        notices.bulkWrite(
+            documents
+                .stream()
+                .map(document ->
+                    new DeleteOneModel<Document>(
+                        Filters.and(Filters.eq("_id", document.get("_id")), Filters.eq("version", document.get("version")))
+                    )
+                )
+                .collect(Collectors.toList()),
+            unordered
+        );
+        // The bulk write result has no ids: the notices modified since they were copied are still there.
+        List<Object> ids = documents.stream().map(document -> document.get("_id")).collect(Collectors.toList());
+        Set<Object> remaining = notices
+            .find(Filters.in("_id", ids))
+            .projection(Projections.include("_id"))
+            .map(document -> document.get("_id"))
+            .into(new HashSet<>());
+        return ids.stream().filter(id -> !remaining.contains(id)).map(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Notice> findArchivedById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Notice.class, ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public List<Notice> findAllArchivedById(Collection<String> ids) {
+        return mongoTemplate.find(new Query(Criteria.where("id").in(ids)), Notice.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public void deleteArchivedById(String id) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(id)), Notice.class, ARCHIVE_COLLECTION);
+    }
+
+    /**
+     * Apply an update to an existing notice, never inserting one, and increment its version.
+     */
+    private Optional<Notice> update(String id, Long expectedVersion, Update update) {
+        // Auditing only applies to saved entities, so the modification date is set by the server.
+        update.currentDate("lastModifiedDate").inc("version", 1);
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        Query query = new Query(criteria);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(false);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, Notice.class));
+    }
+
+    /**
+     * Build the query for a filter. Equality fields come first and the publish date range last, matching the
+     * {@code notice_type/user_id, publish_date, _id} compound indexes so the keyset sort is served by the index.
+     */
+    static Query filtered(NoticeFilter filter) {
+        Query query = new Query();
+        if (filter == null) {
+            return query;
+        }
+        if (filter.getNoticeType() != null) {
+            query.addCriteria(Criteria.where("noticeType").is(filter.getNoticeType()));
+        }
+        if (filter.getUserId() != null) {
+            query.addCriteria(Criteria.where("userId").is(filter.getUserId()));
+        }
+        if (filter.getPublishDateFrom() != null || filter.getPublishDateTo() != null) {
+            Criteria publishDate = Criteria.where("publishDate");
+            if (filter.getPublishDateFrom() != null) {
+                publishDate.gte(filter.getPublishDateFrom());
+            }
+            if (filter.getPublishDateTo() != null) {
+                publishDate.lt(filter.getPublishDateTo());
+            }
+            query.addCriteria(publishDate);
+        }
+        if (filter.getPublished() != null) {
+            query.addCriteria(Criteria.where("published").is(filter.getPublished()));
+        }
+        return query;
+    }
+
+    static Query keysetPage(NoticeFilter filter, NoticeCursor after, int limit) {
+        Query query = filtered(filter).with(KEYSET_SORT).limit(limit);
+        if (after != null) {
+            query.addCriteria(keysetAfter(after));
+        }
+        return query;
+    }
+
+    static Criteria keysetAfter(NoticeCursor after) {
+        return new Criteria()
+            .orOperator(
+                Criteria.where("publishDate").lt(after.getPublishDate()),
+                Criteria.where("publishDate").is(after.getPublishDate()).and("id").lt(after.getId())
+            );
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.opensociety.repository;
+
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Read-only projection of a {@link com.demo.opensociety.domain.Notice} without its body, for list views.
+ */
+public class NoticeSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String[] FIELDS = { "title", "publishDate", "noticeType", "userId" };
+
+    @Id
+    private String id;
+
+    @Field("title")
+    private String title;
+
+    @Field("publish_date")
+    private Instant publishDate;
+
+    @Field("notice_type")
+    private NoticeType noticeType;
+
+    @Field("user_id")
+    private Long userId;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Instant getPublishDate() {
+        return publishDate;
+    }
+
+    public void setPublishDate(Instant publishDate) {
+        this.publishDate = publishDate;
+    }
+
+    public NoticeType getNoticeType() {
+        return noticeType;
+    }
+
+    public void setNoticeType(NoticeType noticeType) {
+        this.noticeType = noticeType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeSummary{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", publishDate='" + getPublishDate() + "'" +
+            ", noticeType='" + getNoticeType() + "'" +
+            ", userId=" + getUserId() +
+            "}";
+    }
+}
@@ -0,0 +1,168 @@
+package com.demo.opensociety.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of items due at a given time, in milliseconds.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of {@code tickMillis}; every level above has slots as wide as the whole level
+ * below. An item is put in the lowest level covering its due time, and moved down a level each time the clock enters
+ * its slot, so scheduling and expiring an item cost O(1) whatever the number of items and however far they are due.
+ * <p>
+ * Items are never returned before their due time, and at most one tick after it when the wheel is advanced every tick.
+ * The wheel is thread-safe.
+ *
+ * @param <T> the type of the items.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+
+    private long currentTime;
+
+    private int size;
+
+    /**
+     * @param tickMillis the width of the slots of the lowest level.
+     * @param wheelSize the number of slots of every level.
+     * @param startMillis the initial time of the wheel.
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Invalid timing wheel tick " + tickMillis + " or size " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis;
+        levels.add(newLevel());
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @param item the item.
+     * @param dueMillis the time the item is due.
+     * @return false if the item is already due and was not scheduled, true otherwise.
+     */
+    public synchronized boolean add(T item, long dueMillis) {
+        if (dueMillis <= currentTime) {
+            return false;
+        }
+        place(new Entry<>(item, dueMillis));
+        size++;
+        return true;
+    }
+
+    /**
+     * Move the clock of the wheel forward and take the items due by then.
+     *
+     * @param nowMillis the current time; nothing happens if the wheel is already past it.
+     * @return the items due by {@code nowMillis}, in no particular order.
+     */
+    public synchronized List<T> advanceTo(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        if (nowMillis <= currentTime) {
+            return due;
+        }
+        long fromSlot = currentTime / tickMillis;
+        long toSlot = nowMillis / tickMillis;
+        for (long slot = fromSlot; slot <= toSlot; slot++) {
+            if (slot > fromSlot) {
+                currentTime = slot * tickMillis;
+                cascade(currentTime);
+            }
+            List<Entry<T>>[] lowest = levels.get(0);
+            int index = (int) (slot % wheelSize);
+            List<Entry<T>> bucket = lowest[index];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            lowest[index] = new ArrayList<>();
+            for (Entry<T> entry : bucket) {
+                if (entry.dueMillis <= nowMillis) {
+                    due.add(entry.item);
+                    size--;
+                } else {
+                    // Only possible in the slot of nowMillis, which stays the current one.
+                    lowest[index].add(entry);
+                }
+            }
+        }
+        currentTime = nowMillis;
+        return due;
+    }
+
+    /**
+     * @return the number of scheduled items.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Move the items of the upper level slots starting at {@code time} to the levels below, highest level first.
+     */
+    private void cascade(long time) {
+        for (int level = levels.size() - 1; level > 0; level--) {
+            long levelTick = tickOf(level);
+            if (time % levelTick != 0) {
+                continue;
+            }
+            List<Entry<T>>[] slots = levels.get(level);
+            int index = (int) ((time / levelTick) % wheelSize);
+            List<Entry<T>> bucket = slots[index];
+            if (!bucket.isEmpty()) {
+                slots[index] = new ArrayList<>();
+                bucket.forEach(this::place);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                levels.add(newLevel());
+            }
+            long levelTick = tickOf(level);
+            long slot = entry.dueMillis / levelTick;
+            if (slot - currentTime / levelTick < wheelSize) {
+                levels.get(level)[(int) (slot % wheelSize)].add(entry);
+                return;
+            }
+        }
+    }
+
+    private long tickOf(int level) {
+        long tick = tickMillis;
+        for (int i = 0; i < level; i++) {
+            tick = Math.multiplyExact(tick, wheelSize);
+        }
+        return tick;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry<T>>[] newLevel() {
+        List<Entry<T>>[] slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        return slots;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+
+        private final long dueMillis;
+
+        private Entry(T item, long dueMillis) {
+            this.item = item;
+            this.dueMillis = dueMillis;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.repository.NoticeRepository;
+import com.demo.opensociety.repository.NoticeRepositoryCustom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service moving the old notices to the {@link NoticeRepositoryCustom#ARCHIVE_COLLECTION archive collection}, so the
+ * notice collection and its indexes only hold the notices which are still read often.
+ * <p>
+ * Archived notices can still be read by id, but are no longer listed, searched or updated: they are removed from the
+ * {@link NoticeTypeaheadService} index once archived.
+ */
+@Service
+public class NoticeArchiveService {
+
+    private final Logger log = LoggerFactory.getLogger(NoticeArchiveService.class);
+
+    private final NoticeRepository noticeRepository;
+
+    private final NoticeTypeaheadService noticeTypeaheadService;
+
+    private final ApplicationProperties.Archive properties;
+
+    public NoticeArchiveService(
+        NoticeRepository noticeRepository,
+        NoticeTypeaheadService noticeTypeaheadService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.noticeRepository = noticeRepository;
+        this.noticeTypeaheadService = noticeTypeaheadService;
+        this.properties = applicationProperties.getArchive();
+    }
+
+    /**
+     * Archive the published notices older than {@code application.archive.max-age-days}, batch by batch.
+     * <p>
+     * This is scheduled with {@code application.archive.cron}.
+     */
+    @Scheduled(cron = "${application.archive.cron:-}")
+    public void archiveOldNotices() {
+        Instant cutoff = Instant.now().minus(properties.getMaxAgeDays(), ChronoUnit.DAYS);
+        log.debug("Archiving the notices published before {}", cutoff);
+        int total = 0;
+        List<String> archived;
+        do {
+            archived = noticeRepository.archivePublishedBefore(cutoff, properties.getBatchSize());
+            archived.forEach(noticeTypeaheadService::remove);
+            total += archived.size();
+        } while (archived.size() == properties.getBatchSize());
+        log.info("Archived {} notices published before {}", total, cutoff);
+    }
+}
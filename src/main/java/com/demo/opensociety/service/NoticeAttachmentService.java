@@ -0,0 +1,126 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeAttachment;
+import com.demo.opensociety.repository.NoticeRepository;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service managing the files attached to the notices.
+ * <p>
+ * The content of the files is stored in GridFS, chunk by chunk, with the id of their notice in the file metadata; the
+ * notice documents only hold the {@link NoticeAttachment metadata} of their attachments.
+ */
+@Service
+public class NoticeAttachmentService {
+
+    private static final String NOTICE_ID_METADATA = "noticeId";
+
+    private final Logger log = LoggerFactory.getLogger(NoticeAttachmentService.class);
+
+    private final GridFsTemplate gridFsTemplate;
+
+    private final NoticeRepository noticeRepository;
+
+    private final NoticeOutboxService noticeOutboxService;
+
+    public NoticeAttachmentService(
+        GridFsTemplate gridFsTemplate,
+        NoticeRepository noticeRepository,
+        NoticeOutboxService noticeOutboxService
+    ) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.noticeOutboxService = noticeOutboxService;
+        this.noticeRepository = noticeRepository;
+    }
+
+    /**
+     * Attach a file to a notice. The content is streamed to GridFS, and is never fully held in memory.
+     *
+     * @param noticeId the id of the notice.
+     * @param content the content of the file.
+     * @param filename the name of the file.
+     * @param contentType the media type of the file.
+     * @param length the length of the file, in bytes.
+     * @return the metadata of the attachment, or empty if the notice does not exist.
+     */
+    public Optional<NoticeAttachment> attach(String noticeId, InputStream content, String filename, String contentType, long length) {
+        ObjectId fileId = gridFsTemplate.store(content, filename, contentType, new Document(NOTICE_ID_METADATA, noticeId));
+        NoticeAttachment attachment = new NoticeAttachment()
+            .fileId(fileId.toHexString())
+            .filename(filename)
+            .contentType(contentType)
+            .length(length)
+            .uploadDate(Instant.now());
+        Optional<Notice> notice;
+        try {
+            notice = noticeOutboxService.updated(() -> noticeRepository.addAttachment(noticeId, attachment));
+        } catch (RuntimeException e) {
+            gridFsTemplate.delete(byFileId(fileId));
+            throw e;
+        }
+        if (notice.isEmpty()) {
+            log.debug("Notice {} not found, deleting the attached file {}", noticeId, fileId);
+            gridFsTemplate.delete(byFileId(fileId));
+            return Optional.empty();
+        }
+        return Optional.of(attachment);
+    }
+
+    /**
+     * Get the content of a file attached to a notice.
+     *
+     * @param noticeId the id of the notice.
+     * @param fileId the id of the file.
+     * @return the content of the file, or empty if the notice has no such attachment.
+     */
+    public Optional<GridFsResource> getContent(String noticeId, String fileId) {
+        if (!ObjectId.isValid(fileId)) {
+            return Optional.empty();
+        }
+        GridFSFile file = gridFsTemplate.findOne(
+            byFileId(new ObjectId(fileId)).addCriteria(Criteria.where("metadata." + NOTICE_ID_METADATA).is(noticeId))
+        );
+        return Optional.ofNullable(file).map(gridFsTemplate::getResource);
+    }
+
+    /**
+     * Detach a file from a notice, and delete it.
+     *
+     * @param noticeId the id of the notice.
+     * @param fileId the id of the file.
+     * @return false if the notice has no such attachment.
+     */
+    public boolean detach(String noticeId, String fileId) {
+        if (!ObjectId.isValid(fileId) || noticeOutboxService.updated(() -> noticeRepository.removeAttachment(noticeId, fileId)).isEmpty()) {
+            return false;
+        }
+        gridFsTemplate.delete(byFileId(new ObjectId(fileId)));
+        return true;
+    }
+
+    /**
+     * Delete all the files attached to a notice.
+     *
+     * @param noticeId the id of the notice.
+     */
+    public void deleteAll(String noticeId) {
+        gridFsTemplate.delete(new Query(Criteria.where("metadata." + NOTICE_ID_METADATA).is(noticeId)));
+    }
+
+    private static Query byFileId(ObjectId fileId) {
+        return new Query(Criteria.where("_id").is(fileId));
+    }
+}
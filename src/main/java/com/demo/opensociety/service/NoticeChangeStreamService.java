@@ -0,0 +1,278 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.ChangeStreamToken;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.repository.ChangeStreamTokenRepository;
+import com.demo.opensociety.repository.NoticeBodyCodec;
+import com.demo.opensociety.repository.NoticeRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service watching the notice collection through a MongoDB change stream, to keep the node-local notice state
+ * (the {@link NoticeRepository#NOTICES_BY_ID_CACHE} cache, the {@link NoticeTypeaheadService} index and the
+ * {@link NoticePublicationService} schedule) in sync with the writes made by every node of the cluster, and to push
+ * these writes to the {@link NoticeStreamService} streams of the node.
+ * <p>
+ * The resume token of the last processed change is persisted in the {@code change_stream_token} collection, so a
+ * restarted listener resumes where it stopped. Only when the oplog no longer holds that position is the cache
+ * flushed and the stream restarted from the current time. The token is kept under the
+ * {@code application.change-stream.listener-id} of the node, which must be stable across restarts; the tokens no
+ * longer saved are removed after 30 days.
+ */
+@Service
+public class NoticeChangeStreamService implements SmartLifecycle {
+
+    /**
+     * {@code ChangeStreamHistoryLost}: the resume token is no longer in the oplog.
+     */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    /**
+     * {@code ChangeStreamFatalError}: the change stream can not be resumed.
+     */
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+
+    /**
+     * {@code Location40573}: change streams are only supported on replica sets.
+     */
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final Logger log = LoggerFactory.getLogger(NoticeChangeStreamService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ChangeStreamTokenRepository changeStreamTokenRepository;
+
+    private final NoticeTypeaheadService noticeTypeaheadService;
+
+    private final NoticePublicationService noticePublicationService;
+
+    private final NoticeStreamService noticeStreamService;
+
+    private final Cache noticesByIdCache;
+
+    private final ApplicationProperties.ChangeStream properties;
+
+    private final String listenerId;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    private BsonDocument resumeToken;
+
+    private BsonDocument savedToken;
+
+    private long lastTokenSave;
+
+    public NoticeChangeStreamService(
+        MongoTemplate mongoTemplate,
+        ChangeStreamTokenRepository changeStreamTokenRepository,
+        NoticeTypeaheadService noticeTypeaheadService,
+        NoticePublicationService noticePublicationService,
+        NoticeStreamService noticeStreamService,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.changeStreamTokenRepository = changeStreamTokenRepository;
+        this.noticeTypeaheadService = noticeTypeaheadService;
+        this.noticePublicationService = noticePublicationService;
+        this.noticeStreamService = noticeStreamService;
+        this.noticesByIdCache = Objects.requireNonNull(cacheManager.getCache(NoticeRepository.NOTICES_BY_ID_CACHE));
+        this.properties = applicationProperties.getChangeStream();
+        this.listenerId = "notice:" + (properties.getListenerId() != null ? properties.getListenerId() : hostName());
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Notice change stream listener is disabled, notice caches are only invalidated locally and notice streams are idle");
+            return;
+        }
+        if (properties.getListenerId() == null) {
+            log.warn("No application.change-stream.listener-id set, the notice change stream resume token is kept as {}", listenerId);
+        }
+        resumeToken =
+            changeStreamTokenRepository.findById(listenerId).map(token -> BsonDocument.parse(token.getResumeToken())).orElse(null);
+        savedToken = resumeToken;
+        running = true;
+        worker = new Thread(this::watch, "notice-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch() {
+        log.info("Watching notice changes as {}, resuming: {}", listenerId, resumeToken != null);
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        apply(change);
+                    }
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                    saveToken(false);
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.warn("Change streams are not supported by this MongoDB deployment, notice caches are only invalidated locally");
+                    running = false;
+                } else if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    log.warn("Notice change stream can not be resumed, flushing the notice cache: {}", e.getErrorMessage());
+                    restartFromNow();
+                } else {
+                    pauseAfter(e);
+                }
+            } catch (MongoException e) {
+                pauseAfter(e);
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.error("Unexpected error while watching notice changes", e);
+                    pauseAfter(e);
+                }
+            }
+        }
+        try {
+            saveToken(true);
+        } catch (RuntimeException e) {
+            log.warn("Could not save the notice change stream resume token: {}", e.getMessage());
+        }
+        log.info("Stopped watching notice changes");
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        ChangeStreamIterable<Document> stream = mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(Notice.class))
+            .watch()
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT:
+            case UPDATE:
+            case REPLACE:
+                String id = idOf(change.getDocumentKey());
+                noticesByIdCache.evict(id);
+                if (change.getFullDocument() != null) {
+                    Notice notice = mongoTemplate.getConverter().read(Notice.class, NoticeBodyCodec.decodeBody(change.getFullDocument()));
+                    noticeTypeaheadService.index(notice);
+                    noticePublicationService.schedule(notice);
+                    noticeStreamService.publish(notice);
+                }
+                break;
+            case DELETE:
+                String deletedId = idOf(change.getDocumentKey());
+                noticesByIdCache.evict(deletedId);
+                noticeTypeaheadService.remove(deletedId);
+                break;
+            case DROP:
+            case RENAME:
+            case DROP_DATABASE:
+            case INVALIDATE:
+                log.warn("Notice collection was {}, flushing the notice cache", change.getOperationType().getValue());
+                noticesByIdCache.clear();
+                break;
+            default:
+                log.debug("Ignoring notice change : {}", change);
+        }
+    }
+
+    private void saveToken(boolean force) {
+        long now = System.currentTimeMillis();
+        if (resumeToken == null || resumeToken.equals(savedToken)) {
+            return;
+        }
+        if (!force && now - lastTokenSave < properties.getTokenSaveIntervalMs()) {
+            return;
+        }
+        changeStreamTokenRepository.save(
+            new ChangeStreamToken().id(listenerId).resumeToken(resumeToken.toJson()).updatedDate(Instant.ofEpochMilli(now))
+        );
+        savedToken = resumeToken;
+        lastTokenSave = now;
+    }
+
+    private void restartFromNow() {
+        resumeToken = null;
+        savedToken = null;
+        changeStreamTokenRepository.deleteById(listenerId);
+        noticesByIdCache.clear();
+    }
+
+    private void pauseAfter(Exception e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Notice change stream interrupted, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.opensociety.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * A notice email rendered once for all its recipients, with the places of the recipient left open.
+ * <p>
+ * The content is held as the static segments around these places, so rendering the email of a recipient is a mere
+ * concatenation, with no template processing.
+ */
+public final class NoticeEmail {
+
+    private final String subject;
+
+    private final String[] segments;
+
+    private final int length;
+
+    private NoticeEmail(String subject, String[] segments) {
+        this.subject = subject;
+        this.segments = segments;
+        int total = 0;
+        for (String segment : segments) {
+            total += segment.length();
+        }
+        this.length = total;
+    }
+
+    /**
+     * Split rendered content around the occurrences of a marker standing for the recipient.
+     *
+     * @param subject the subject of the email.
+     * @param content the content rendered with the marker as recipient.
+     * @param marker the marker, which must not otherwise occur in the content.
+     * @return the email.
+     */
+    static NoticeEmail compile(String subject, String content, String marker) {
+        List<String> segments = new ArrayList<>();
+        int from = 0;
+        int at;
+        while ((at = content.indexOf(marker, from)) >= 0) {
+            segments.add(content.substring(from, at));
+            from = at + marker.length();
+        }
+        segments.add(content.substring(from));
+        return new NoticeEmail(subject, segments.toArray(new String[0]));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Render the content of the email for a recipient.
+     *
+     * @param recipient the name of the recipient, HTML-escaped here as the template would.
+     * @return the HTML content.
+     */
+    public String render(String recipient) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        String escaped = HtmlUtils.htmlEscape(recipient);
+        StringBuilder content = new StringBuilder(length + (segments.length - 1) * escaped.length());
+        content.append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            content.append(escaped).append(segments[i]);
+        }
+        return content.toString();
+    }
+}
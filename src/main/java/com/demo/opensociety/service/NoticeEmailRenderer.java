@@ -0,0 +1,78 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.domain.Notice;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+/**
+ * Service rendering the notice emails.
+ * <p>
+ * The template is processed once per notice version and locale, with a marker standing for the recipient, and the
+ * result is kept in the {@link #NOTICE_EMAILS_CACHE} cache as a {@link NoticeEmail}; the email of every recipient is
+ * then built by substituting the recipient for the marker. The parsed template itself is cached by the template
+ * engine, as configured by {@code spring.thymeleaf.cache}.
+ */
+@Service
+public class NoticeEmailRenderer {
+
+    public static final String NOTICE_EMAILS_CACHE = "noticeEmails";
+
+    static final String TEMPLATE = "mail/noticeEmail";
+
+    private static final String NOTICE = "notice";
+
+    private static final String RECIPIENT = "recipient";
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final Cache noticeEmailsCache;
+
+    public NoticeEmailRenderer(SpringTemplateEngine templateEngine, MessageSource messageSource, CacheManager cacheManager) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.noticeEmailsCache = Objects.requireNonNull(cacheManager.getCache(NOTICE_EMAILS_CACHE));
+    }
+
+    /**
+     * Get the email of a notice, rendering it only if this version of the notice was not rendered yet.
+     *
+     * @param notice the notice.
+     * @param locale the locale of the email.
+     * @return the email.
+     */
+    public NoticeEmail render(Notice notice, Locale locale) {
+        String key = notice.getId() + ":" + notice.getVersion() + ":" + locale.toLanguageTag();
+        return noticeEmailsCache.get(key, () -> compile(notice, locale));
+    }
+
+    /**
+     * Render the email of a notice, whatever the cache holds.
+     *
+     * @param notice the notice.
+     * @param locale the locale of the email.
+     * @return the email.
+     */
+    public NoticeEmail compile(Notice notice, Locale locale) {
+        // Letters and digits only, so that it comes out of escaping and message formatting as it went in.
+        String marker = "recipient" + UUID.randomUUID().toString().replace("-", "");
+        Context context = new Context(locale);
+        context.setVariable(NOTICE, notice);
+        context.setVariable(RECIPIENT, marker);
+        String content = templateEngine.process(TEMPLATE, context);
+        String subject = messageSource.getMessage(
+            "email.notice.title",
+            new Object[] { notice.getNoticeType(), notice.getTitle() },
+            locale
+        );
+        return NoticeEmail.compile(subject, content, marker);
+    }
+}
@@ -0,0 +1,19 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.domain.NoticeEvent;
+
+/**
+ * Downstream consumer of the {@link NoticeEvent}s of the outbox, called by the {@link NoticeOutboxDispatcher}.
+ * <p>
+ * An event is only deleted from the outbox once every handler has handled it. When a handler throws, the event is
+ * dispatched again to every handler later, so handlers must be idempotent.
+ */
+public interface NoticeEventHandler {
+    /**
+     * Deliver an event downstream, returning only once it is delivered.
+     *
+     * @param event the event.
+     * @throws RuntimeException if the event could not be delivered, for it to be dispatched again.
+     */
+    void handle(NoticeEvent event);
+}
@@ -0,0 +1,266 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.management.NoticeMetersService;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service mailing the notices to lists of recipients.
+ * <p>
+ * A notice is rendered once per version by the {@link NoticeEmailRenderer}, then one message per recipient is queued
+ * in batches of
+ * {@code application.mail-fan-out.batch-size}. Each of the {@code application.mail-fan-out.connections} sender threads
+ * sends whole batches over its own SMTP connection, which it keeps open and reuses for the next batches until it has
+ * been idle for {@code application.mail-fan-out.idle-timeout-ms}. The sending rate across all connections is limited to
+ * {@code application.mail-fan-out.rate-per-second}, and the mailings of {@link NoticeType#EMERGENCY} notices are
+ * queued ahead of the others.
+ * <p>
+ * Mail is only sent when an SMTP server is configured with the {@code spring.mail} properties.
+ */
+@Service
+public class NoticeMailService implements SmartLifecycle {
+
+    private final Logger log = LoggerFactory.getLogger(NoticeMailService.class);
+
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    private final NoticeEmailRenderer noticeEmailRenderer;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final NoticeMetersService noticeMetersService;
+
+    private final ApplicationProperties.MailFanOut properties;
+
+    private final RateLimiter rateLimiter;
+
+    private final BlockingDeque<MailBatch> batches = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private JavaMailSenderImpl mailSender;
+
+    public NoticeMailService(
+        ObjectProvider<JavaMailSender> mailSenderProvider,
+        NoticeEmailRenderer noticeEmailRenderer,
+        JHipsterProperties jHipsterProperties,
+        NoticeMetersService noticeMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailSenderProvider = mailSenderProvider;
+        this.noticeEmailRenderer = noticeEmailRenderer;
+        this.jHipsterProperties = jHipsterProperties;
+        this.noticeMetersService = noticeMetersService;
+        this.properties = applicationProperties.getMailFanOut();
+        this.rateLimiter = new RateLimiter(properties.getRatePerSecond());
+        noticeMetersService.registerMailQueue(queuedMessages::get);
+    }
+
+    @Override
+    public void start() {
+        JavaMailSender sender = mailSenderProvider.getIfAvailable();
+        if (!(sender instanceof JavaMailSenderImpl)) {
+            log.info("No SMTP server is configured, notices are not mailed");
+            return;
+        }
+        mailSender = (JavaMailSenderImpl) sender;
+        running = true;
+        for (int i = 0; i < properties.getConnections(); i++) {
+            Thread worker = new Thread(this::work, "notice-mail-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        if (!batches.isEmpty()) {
+            log.warn("Stopped mailing notices, {} queued messages were not sent", queuedMessages.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queue the mailing of a notice.
+     *
+     * @param notice the notice.
+     * @param recipients the addresses of the recipients.
+     * @return false if the mailing was refused, because no SMTP server is configured or too many messages are queued.
+     */
+    public boolean mail(Notice notice, List<InternetAddress> recipients) {
+        if (!running) {
+            return false;
+        }
+        if (queuedMessages.addAndGet(recipients.size()) > properties.getMaxQueuedMessages()) {
+            queuedMessages.addAndGet(-recipients.size());
+            return false;
+        }
+        NoticeEmail email = noticeEmailRenderer.render(notice, Locale.forLanguageTag("en"));
+        boolean emergency = notice.getNoticeType() == NoticeType.EMERGENCY;
+        List<MailBatch> mailing = new ArrayList<>();
+        for (int from = 0; from < recipients.size(); from += properties.getBatchSize()) {
+            List<InternetAddress> batch = recipients.subList(from, Math.min(from + properties.getBatchSize(), recipients.size()));
+            mailing.add(new MailBatch(notice.getId(), email, new ArrayList<>(batch)));
+        }
+        if (emergency) {
+            // Pushed in reverse order, so the batches of the mailing are still sent in order.
+            for (int i = mailing.size() - 1; i >= 0; i--) {
+                batches.addFirst(mailing.get(i));
+            }
+        } else {
+            batches.addAll(mailing);
+        }
+        log.debug("Queued the mailing of Notice {} to {} recipients", notice.getId(), recipients.size());
+        return true;
+    }
+
+    /**
+     * @return the number of messages waiting to be sent.
+     */
+    public int getQueuedMessages() {
+        return queuedMessages.get();
+    }
+
+    private void work() {
+        Transport transport = null;
+        try {
+            while (running) {
+                MailBatch batch = batches.pollFirst(properties.getIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    transport = close(transport);
+                } else {
+                    transport = send(transport, batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    /**
+     * Send a batch over a connection, opening a new one if needed.
+     *
+     * @return the connection to reuse for the next batch, or null if it failed.
+     */
+    private Transport send(Transport transport, MailBatch batch) throws InterruptedException {
+        long start = System.nanoTime();
+        int sent = 0;
+        int failed = 0;
+        try {
+            if (transport == null || !transport.isConnected()) {
+                transport = connect();
+            }
+            for (InternetAddress recipient : batch.recipients) {
+                rateLimiter.acquire(1);
+                try {
+                    MimeMessage message = message(batch, recipient);
+                    transport.sendMessage(message, message.getAllRecipients());
+                    sent++;
+                } catch (SendFailedException e) {
+                    // Rejected recipient: the connection is still usable.
+                    log.debug("Could not mail Notice {} to {}: {}", batch.noticeId, recipient, e.getMessage());
+                    failed++;
+                }
+            }
+        } catch (MessagingException e) {
+            failed = batch.recipients.size() - sent;
+            log.warn("Could not mail Notice {} to {} recipients: {}", batch.noticeId, failed, e.getMessage());
+            transport = close(transport);
+        } finally {
+            queuedMessages.addAndGet(-batch.recipients.size());
+            noticeMetersService.recordMailSession(sent, failed, Duration.ofNanos(System.nanoTime() - start));
+        }
+        return transport;
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private MimeMessage message(MailBatch batch, InternetAddress recipient) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
+        helper.setTo(recipient);
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(batch.email.getSubject());
+        // Only the recipient is substituted, the notice was rendered once for the whole mailing.
+        helper.setText(batch.email.render(recipient.getPersonal() != null ? recipient.getPersonal() : recipient.getAddress()), true);
+        helper.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Could not close the SMTP connection: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static final class MailBatch {
+
+        private final String noticeId;
+
+        private final NoticeEmail email;
+
+        private final List<InternetAddress> recipients;
+
+        private MailBatch(String noticeId, NoticeEmail email, List<InternetAddress> recipients) {
+            this.noticeId = noticeId;
+            this.email = email;
+            this.recipients = recipients;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.NoticeEvent;
+import com.demo.opensociety.management.NoticeMetersService;
+import com.demo.opensociety.repository.NoticeEventRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service dispatching the {@link NoticeEvent}s of the outbox to the downstream {@link NoticeEventHandler}s, such as
+ * the {@link NoticeWebhookService}. Without any handler, nothing is dispatched and the events are kept in the outbox.
+ * <p>
+ * Events are claimed in batches of {@code application.outbox.batch-size}, so that several nodes share the outbox
+ * without dispatching the same event twice while its lease runs. The events of a batch are dispatched in parallel on
+ * {@code application.outbox.concurrency} lanes, the events of a notice always on the same lane and in order; once a
+ * lane fails, its remaining events are released too, to be dispatched again after
+ * {@code application.outbox.retry-delay-ms}. The events handled by every handler are then deleted with a single write.
+ * <p>
+ * Delivery is at least once: an event is dispatched again when its node stops before deleting it, and a retried event
+ * may come after a later change of its notice. Handlers should discard the events older than the
+ * {@link NoticeEvent#getNoticeVersion() version} they already have.
+ */
+@Service
+public class NoticeOutboxDispatcher implements SmartLifecycle {
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private static final long THROUGHPUT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger log = LoggerFactory.getLogger(NoticeOutboxDispatcher.class);
+
+    private final NoticeEventRepository noticeEventRepository;
+
+    private final List<NoticeEventHandler> handlers;
+
+    private final NoticeMetersService noticeMetersService;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final ExecutorService lanes;
+
+    private final String dispatcherId = ManagementFactory.getRuntimeMXBean().getName();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    private volatile double lagSeconds;
+
+    private volatile double throughput;
+
+    private long windowStart = System.nanoTime();
+
+    private long windowDispatched;
+
+    public NoticeOutboxDispatcher(
+        NoticeEventRepository noticeEventRepository,
+        ObjectProvider<NoticeEventHandler> handlers,
+        NoticeMetersService noticeMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.noticeEventRepository = noticeEventRepository;
+        this.handlers = handlers.orderedStream().collect(Collectors.toList());
+        this.noticeMetersService = noticeMetersService;
+        this.properties = applicationProperties.getOutbox();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("notice-outbox-");
+        threadFactory.setDaemon(true);
+        this.lanes = Executors.newFixedThreadPool(properties.getConcurrency(), threadFactory);
+        noticeMetersService.registerOutbox(() -> lagSeconds, () -> throughput);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.shutdownNow();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Notice outbox dispatcher is disabled, the outbox is left to the other nodes");
+            return;
+        }
+        if (handlers.isEmpty()) {
+            log.warn("No notice event handler is configured, the notice events are kept in the outbox");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::dispatch, "notice-outbox");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Claim a batch of pending events, dispatch them, and delete the dispatched ones.
+     *
+     * @return the number of events claimed, none when no handler is configured.
+     */
+    public synchronized int dispatchPending() {
+        if (handlers.isEmpty()) {
+            return 0;
+        }
+        List<NoticeEvent> events = noticeEventRepository.claim(
+            dispatcherId,
+            Instant.now(),
+            Duration.ofMillis(properties.getLeaseMs()),
+            properties.getBatchSize()
+        );
+        int failed = 0;
+        if (!events.isEmpty()) {
+            Map<Integer, List<NoticeEvent>> byLane = new HashMap<>();
+            for (NoticeEvent event : events) {
+                int lane = Math.floorMod(event.getNoticeId().hashCode(), properties.getConcurrency());
+                byLane.computeIfAbsent(lane, key -> new ArrayList<>()).add(event);
+            }
+            List<CompletableFuture<List<NoticeEvent>>> dispatches = byLane
+                .values()
+                .stream()
+                .map(lane -> CompletableFuture.supplyAsync(() -> dispatchInOrder(lane), lanes))
+                .collect(Collectors.toList());
+            Set<String> undispatched = new HashSet<>();
+            dispatches.forEach(dispatch -> dispatch.join().forEach(event -> undispatched.add(event.getId())));
+            List<String> dispatched = events
+                .stream()
+                .map(NoticeEvent::getId)
+                .filter(id -> !undispatched.contains(id))
+                .collect(Collectors.toList());
+            noticeEventRepository.deleteAllById(dispatched);
+            noticeEventRepository.release(undispatched, Instant.now().plusMillis(properties.getRetryDelayMs()));
+            failed = undispatched.size();
+            noticeMetersService.recordOutboxDispatch(dispatched.size(), failed);
+        }
+        updateGauges(events.size() - failed);
+        return events.size();
+    }
+
+    /**
+     * @return the events which were not dispatched, from the first failing one.
+     */
+    private List<NoticeEvent> dispatchInOrder(List<NoticeEvent> lane) {
+        for (int i = 0; i < lane.size(); i++) {
+            NoticeEvent event = lane.get(i);
+            try {
+                for (NoticeEventHandler handler : handlers) {
+                    handler.handle(event);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not dispatch {}, retrying in {} ms: {}", event, properties.getRetryDelayMs(), e.getMessage());
+                return lane.subList(i, lane.size());
+            }
+        }
+        return List.of();
+    }
+
+    private void updateGauges(int dispatched) {
+        lagSeconds =
+            noticeEventRepository
+                .findOldestCreatedDate()
+                .map(oldest -> Duration.between(oldest, Instant.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+        long now = System.nanoTime();
+        windowDispatched += dispatched;
+        if (now - windowStart >= THROUGHPUT_WINDOW_NANOS) {
+            throughput = windowDispatched * (double) TimeUnit.SECONDS.toNanos(1) / (now - windowStart);
+            windowStart = now;
+            windowDispatched = 0;
+        }
+    }
+
+    private void dispatch() {
+        log.info("Dispatching the notice outbox as {}", dispatcherId);
+        while (running) {
+            try {
+                // Claims again right away while full batches are claimed, the outbox being behind.
+                if (dispatchPending() < properties.getBatchSize()) {
+                    Thread.sleep(properties.getPollMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                pauseAfter(e);
+            }
+        }
+        log.info("Stopped dispatching the notice outbox");
+    }
+
+    private void pauseAfter(Exception e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Notice outbox dispatch interrupted, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeEvent;
+import com.demo.opensociety.domain.enumeration.NoticeEventType;
+import com.demo.opensociety.repository.NoticeEventRepository;
+import com.demo.opensociety.repository.NoticeRepository;
+import com.mongodb.MongoException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service writing the notice changes together with their {@link NoticeEvent} in the outbox, from which the
+ * {@link NoticeOutboxDispatcher} delivers them.
+ * <p>
+ * When {@code application.outbox.transactions} is enabled, the change and its event are written in a single MongoDB
+ * transaction, so that every committed change has its event and no event is written for a change which failed: there
+ * is no dual write to get out of sync. Transactions are retried when MongoDB reports them as transient, for instance on
+ * a write conflict with a concurrent transaction. As they need a replica set or a sharded cluster, they are not used,
+ * with a warning, when MongoDB turns out to be a standalone server at startup.
+ * <p>
+ * The changed notices are evicted from the {@link NoticeRepository#NOTICES_BY_ID_CACHE} cache once their transaction is
+ * committed: the evictions of the repository run before the commit, and a concurrent read may cache the notice as it
+ * was before the change in between.
+ */
+@Service
+public class NoticeOutboxService {
+
+    private static final int MAX_TRANSACTION_ATTEMPTS = 3;
+
+    private final Logger log = LoggerFactory.getLogger(NoticeOutboxService.class);
+
+    private final NoticeRepository noticeRepository;
+
+    private final NoticeEventRepository noticeEventRepository;
+
+    private final Cache noticesByIdCache;
+
+    /**
+     * Null when {@code application.outbox.transactions} is disabled, or MongoDB does not support transactions.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    public NoticeOutboxService(
+        NoticeRepository noticeRepository,
+        NoticeEventRepository noticeEventRepository,
+        MongoDatabaseFactory databaseFactory,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.noticeRepository = noticeRepository;
+        this.noticeEventRepository = noticeEventRepository;
+        this.noticesByIdCache = Objects.requireNonNull(cacheManager.getCache(NoticeRepository.NOTICES_BY_ID_CACHE));
+        // Not a bean, so that nothing else starts using transactions, which need a replica set.
+        this.transactionTemplate =
+            applicationProperties.getOutbox().isTransactions() && supportsTransactions(databaseFactory)
+                ? new TransactionTemplate(new MongoTransactionManager(databaseFactory))
+                : null;
+    }
+
+    /**
+     * Save a new notice and its {@link NoticeEventType#CREATED} event.
+     *
+     * @param notice the notice to create.
+     * @return the created notice.
+     */
+    public Notice create(Notice notice) {
+        String id = notice.getId();
+        Long version = notice.getVersion();
+        return inTransaction(() -> {
+            // Reset on every attempt, as a rolled back save leaves them set and the notice would be saved as an update.
+            notice.setId(id);
+            notice.setVersion(version);
+            Notice created = noticeRepository.save(notice);
+            noticeEventRepository.insert(eventOf(NoticeEventType.CREATED, created));
+            return created;
+        });
+    }
+
+    /**
+     * Update a notice, and write its {@link NoticeEventType#UPDATED} event if it was updated.
+     *
+     * @param write the conditional write of the notice.
+     * @return the updated notice, or empty if the write did not update any.
+     */
+    public Optional<Notice> updated(Supplier<Optional<Notice>> write) {
+        return changed(NoticeEventType.UPDATED, write);
+    }
+
+    /**
+     * Delete a notice, and write its {@link NoticeEventType#DELETED} event if it existed.
+     *
+     * @param delete the delete of the notice.
+     * @return the notice as it was before being deleted, or empty if the delete did not find any.
+     */
+    public Optional<Notice> deleted(Supplier<Optional<Notice>> delete) {
+        return changed(NoticeEventType.DELETED, delete);
+    }
+
+    /**
+     * Insert new notices with unordered bulk writes, like {@link NoticeRepository#insertUnordered(List, int)}, and
+     * their {@link NoticeEventType#CREATED} events.
+     * <p>
+     * Every batch is a transaction. As a failing insert aborts its transaction, a batch with a failing notice is
+     * inserted again one notice per transaction, so that the other notices are still created.
+     *
+     * @param notices the notices to insert.
+     * @param batchSize the maximum number of notices per bulk write.
+     * @return the error message of every notice which could not be inserted, by index in {@code notices}.
+     */
+    public Map<Integer, String> createdInBulk(List<Notice> notices, int batchSize) {
+        if (transactionTemplate == null) {
+            Map<Integer, String> errors = noticeRepository.insertUnordered(notices, batchSize);
+            insertEvents(notices, errors);
+            return errors;
+        }
+        Map<Integer, String> errors = new TreeMap<>();
+        for (int from = 0; from < notices.size(); from += batchSize) {
+            List<Notice> batch = notices.subList(from, Math.min(from + batchSize, notices.size()));
+            try {
+                insertInTransaction(batch);
+            } catch (BatchFailedException e) {
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        insertInTransaction(batch.subList(i, i + 1));
+                    } catch (BatchFailedException itemFailed) {
+                        errors.put(from + i, itemFailed.errors.get(0));
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    private Optional<Notice> changed(NoticeEventType type, Supplier<Optional<Notice>> write) {
+        Optional<Notice> notice = inTransaction(() -> {
+            Optional<Notice> written = write.get();
+            written.ifPresent(changed -> noticeEventRepository.insert(eventOf(type, changed)));
+            return written;
+        });
+        if (transactionTemplate != null) {
+            notice.ifPresent(changed -> noticesByIdCache.evict(changed.getId()));
+        }
+        return notice;
+    }
+
+    private void insertInTransaction(List<Notice> batch) {
+        inTransaction(() -> {
+            Map<Integer, String> errors = noticeRepository.insertUnordered(batch, batch.size());
+            if (!errors.isEmpty()) {
+                throw new BatchFailedException(errors);
+            }
+            insertEvents(batch, errors);
+            return null;
+        });
+    }
+
+    private void insertEvents(List<Notice> notices, Map<Integer, String> errors) {
+        List<NoticeEvent> events = new ArrayList<>(notices.size());
+        for (int i = 0; i < notices.size(); i++) {
+            if (!errors.containsKey(i)) {
+                events.add(eventOf(NoticeEventType.CREATED, notices.get(i)));
+            }
+        }
+        if (!events.isEmpty()) {
+            noticeEventRepository.insert(events);
+        }
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        if (transactionTemplate == null) {
+            return work.get();
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (DataAccessException e) {
+                if (attempt == MAX_TRANSACTION_ATTEMPTS || !isTransient(e)) {
+                    throw e;
+                }
+                log.debug("Retrying a transient notice transaction failure: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean supportsTransactions(MongoDatabaseFactory databaseFactory) {
+        Document hello;
+        try {
+            hello = databaseFactory.getMongoDatabase().runCommand(new Document("hello", 1));
+        } catch (MongoException e) {
+            log.warn("Could not check that MongoDB supports transactions, writing the notice outbox in transactions: {}", e.getMessage());
+            return true;
+        }
+        // Replica set members report the name of their set, and mongos routers are sharded clusters.
+        if (hello.get("setName") != null || "isdbgrid".equals(hello.get("msg"))) {
+            return true;
+        }
+        log.warn("MongoDB is a standalone server, writing the notice outbox without transactions");
+        return false;
+    }
+
+    private static boolean isTransient(DataAccessException e) {
+        return (
+            e.getCause() instanceof MongoException &&
+            ((MongoException) e.getCause()).hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+        );
+    }
+
+    private static NoticeEvent eventOf(NoticeEventType type, Notice notice) {
+        return new NoticeEvent()
+            .noticeId(notice.getId())
+            .type(type)
+            .noticeVersion(notice.getVersion())
+            .notice(notice)
+            .createdDate(Instant.now());
+    }
+
+    /**
+     * Rolls back the transaction of a batch in which some notices could not be inserted.
+     */
+    private static final class BatchFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<String> errors;
+
+        private BatchFailedException(Map<Integer, String> errors) {
+            super("Bulk insert of notices failed", null, false, false);
+            this.errors = new ArrayList<>(errors.values());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.config.Constants;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.repository.NoticeRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service publishing the notices when their publish date comes.
+ * <p>
+ * The unpublished notices due in the next {@code application.publication.window-seconds} are loaded from the partial
+ * index of the unpublished notices into a {@link HierarchicalTimingWheel}, which a single thread advances every tick:
+ * the collection is only queried to reload the window, every half window and at startup, so notices left unpublished
+ * while no node was running are published on restart. Notices created or updated in between are scheduled as they
+ * are written, by this node or, through the {@link NoticeChangeStreamService}, by the others.
+ * <p>
+ * Every node schedules every notice; publishing is a conditional write, so only one node publishes a notice. The
+ * subscribers of every node are then pushed the published notice by the {@link NoticeChangeStreamService}.
+ * <p>
+ * {@link NoticeType#EMERGENCY} notices are published by the emergency executor as soon as they are due, rather than
+ * by the publication thread; when that executor is saturated they are queued ahead of the other due notices.
+ */
+@Service
+public class NoticePublicationService implements SmartLifecycle {
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final Logger log = LoggerFactory.getLogger(NoticePublicationService.class);
+
+    private final NoticeRepository noticeRepository;
+
+    private final ApplicationProperties.Publication properties;
+
+    /**
+     * Due time of the scheduled notices by id, so that a notice written several times is only scheduled once.
+     */
+    private final Map<String, Long> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the scheduled EMERGENCY notices.
+     */
+    private final Set<String> emergencies = ConcurrentHashMap.newKeySet();
+
+    private final Queue<String> urgentDue = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> due = new ConcurrentLinkedQueue<>();
+
+    private volatile HierarchicalTimingWheel<String> wheel;
+
+    private volatile long loadedUntil;
+
+    private volatile boolean running;
+
+    private final Executor emergencyExecutor;
+
+    private final NoticeOutboxService noticeOutboxService;
+
+    private Thread worker;
+
+    public NoticePublicationService(
+        NoticeRepository noticeRepository,
+        ApplicationProperties applicationProperties,
+        @Qualifier(Constants.EMERGENCY_TASK_EXECUTOR) Executor emergencyExecutor,
+        NoticeOutboxService noticeOutboxService
+    ) {
+        this.noticeRepository = noticeRepository;
+        this.noticeOutboxService = noticeOutboxService;
+        this.emergencyExecutor = emergencyExecutor;
+        this.properties = applicationProperties.getPublication();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Notice publication is disabled, notices are not published at their publish date");
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        running = true;
+        worker = new Thread(this::run, "notice-publication");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Schedule the publication of a written notice, if it is not published yet and due in the loaded window; notices
+     * due later are loaded by the next reload.
+     *
+     * @param notice the notice.
+     */
+    public void schedule(Notice notice) {
+        HierarchicalTimingWheel<String> current = wheel;
+        if (!running || current == null || !Boolean.FALSE.equals(notice.getPublished()) || notice.getPublishDate() == null) {
+            return;
+        }
+        long dueMillis = notice.getPublishDate().toEpochMilli();
+        if (dueMillis >= loadedUntil) {
+            return;
+        }
+        if (notice.getNoticeType() == NoticeType.EMERGENCY) {
+            emergencies.add(notice.getId());
+        } else {
+            emergencies.remove(notice.getId());
+        }
+        Long previous = scheduled.put(notice.getId(), dueMillis);
+        if (previous != null && previous == dueMillis) {
+            return;
+        }
+        if (!current.add(notice.getId(), dueMillis)) {
+            becameDue(notice.getId());
+        }
+    }
+
+    private void run() {
+        log.info("Publishing notices at their publish date, with a {} ms tick", properties.getTickMs());
+        long windowMillis = TimeUnit.SECONDS.toMillis(properties.getWindowSeconds());
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now + windowMillis / 2 >= loadedUntil) {
+                    reload(now, windowMillis);
+                }
+                wheel.advanceTo(now).forEach(this::becameDue);
+                publishDue();
+                Thread.sleep(properties.getTickMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                pauseAfter(e);
+            }
+        }
+        log.info("Stopped publishing notices");
+    }
+
+    private void reload(long now, long windowMillis) {
+        long until = now + windowMillis;
+        // Set first, so the notices written while loading are scheduled too.
+        loadedUntil = until;
+        List<Notice> notices = noticeRepository.findUnpublishedBefore(Instant.ofEpochMilli(until));
+        notices.forEach(this::schedule);
+        log.debug("Loaded {} notices to publish until {}, {} scheduled", notices.size(), Instant.ofEpochMilli(until), wheel.size());
+    }
+
+    private void becameDue(String id) {
+        if (!emergencies.contains(id)) {
+            due.add(id);
+            return;
+        }
+        try {
+            emergencyExecutor.execute(() -> {
+                try {
+                    publish(id);
+                } catch (RuntimeException e) {
+                    log.warn("Could not publish emergency Notice {}, retrying: {}", id, e.getMessage());
+                    urgentDue.add(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            urgentDue.add(id);
+        }
+    }
+
+    private void publishDue() {
+        String id;
+        // The urgent queue is checked before every other notice, so emergencies never wait behind a backlog.
+        while ((id = urgentDue.isEmpty() ? due.poll() : urgentDue.poll()) != null) {
+            try {
+                publish(id);
+            } catch (RuntimeException e) {
+                // Retried after the pause, as the notice is no longer in the wheel.
+                (emergencies.contains(id) ? urgentDue : due).add(id);
+                throw e;
+            }
+        }
+    }
+
+    private void publish(String id) {
+        scheduled.remove(id);
+        noticeOutboxService.updated(() -> noticeRepository.publish(id, Instant.now())).ifPresent(this::published);
+        emergencies.remove(id);
+    }
+
+    private void published(Notice notice) {
+        log.debug("Published Notice : {}", notice.getId());
+    }
+
+    private void pauseAfter(Exception e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Notice publication interrupted, retrying in {} ms: {}", RETRY_DELAY_MS, e.getMessage());
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
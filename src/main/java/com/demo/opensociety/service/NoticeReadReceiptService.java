@@ -0,0 +1,287 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.repository.NoticeCursor;
+import com.demo.opensociety.repository.NoticeFilter;
+import com.demo.opensociety.repository.NoticeReadReceiptsRepository;
+import com.demo.opensociety.repository.NoticeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service tracking which users have read which notices.
+ * <p>
+ * The readers of a notice are a compressed bitmap of their user ids, stored in a single document per notice. Receipts
+ * are first buffered in memory as one bitmap per notice, then merged into the stored bitmaps every
+ * {@code application.read-receipts.flush-ms}, or as soon as {@code application.read-receipts.max-buffered} receipts
+ * are waiting: a notice read by thousands of users between two flushes costs a single write. Reads take the buffered
+ * receipts into account, so a receipt is visible as soon as it is recorded on this node.
+ */
+@Service
+public class NoticeReadReceiptService {
+
+    private final Logger log = LoggerFactory.getLogger(NoticeReadReceiptService.class);
+
+    /**
+     * Bitmaps are not thread-safe: they are only accessed inside the atomic operations of the map.
+     */
+    private final Map<String, Roaring64NavigableMap> buffer = new ConcurrentHashMap<>();
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final Lock flushing = new ReentrantLock();
+
+    private final NoticeReadReceiptsRepository noticeReadReceiptsRepository;
+
+    private final NoticeRepository noticeRepository;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.ReadReceipts properties;
+
+    public NoticeReadReceiptService(
+        NoticeReadReceiptsRepository noticeReadReceiptsRepository,
+        NoticeRepository noticeRepository,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.noticeReadReceiptsRepository = noticeReadReceiptsRepository;
+        this.noticeRepository = noticeRepository;
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getReadReceipts();
+    }
+
+    /**
+     * Record that a user has read a notice.
+     *
+     * @param noticeId the id of the notice.
+     * @param userId the id of the user.
+     */
+    public void markRead(String noticeId, long userId) {
+        buffer.compute(
+            noticeId,
+            (id, readers) -> {
+                Roaring64NavigableMap buffering = readers != null ? readers : new Roaring64NavigableMap();
+                buffering.addLong(userId);
+                return buffering;
+            }
+        );
+        if (buffered.incrementAndGet() >= properties.getMaxBuffered()) {
+            try {
+                taskExecutor.execute(this::tryFlush);
+            } catch (RejectedExecutionException e) {
+                log.debug("Could not flush the read receipts early, waiting for the next flush");
+            }
+        }
+    }
+
+    /**
+     * @param noticeId the id of the notice.
+     * @param userId the id of the user.
+     * @return whether the user has read the notice.
+     */
+    public boolean hasRead(String noticeId, long userId) {
+        if (hasBufferedRead(noticeId, userId)) {
+            return true;
+        }
+        return noticeReadReceiptsRepository.findReaders(noticeId).map(readers -> readers.contains(userId)).orElse(false);
+    }
+
+    /**
+     * @param noticeId the id of the notice.
+     * @return the number of users who have read the notice.
+     */
+    public long countReaders(String noticeId) {
+        Roaring64NavigableMap pending = readBuffered(noticeId, NoticeReadReceiptService::copyOf);
+        if (pending == null) {
+            // Nothing buffered: the stored count is enough, without loading the bitmap.
+            return noticeReadReceiptsRepository.countReaders(noticeId);
+        }
+        noticeReadReceiptsRepository.findReaders(noticeId).ifPresent(pending::or);
+        return pending.getLongCardinality();
+    }
+
+    /**
+     * Get the newest notices matching a filter which a user has not read yet, in keyset order.
+     * <p>
+     * Notices are checked in batches of {@code application.read-receipts.scan-batch-size}, with the readers of a whole
+     * batch loaded by a single query. At most {@code application.read-receipts.max-scanned} notices are checked per
+     * call: when they are all read, fewer notices than asked are returned, with the cursor to continue from.
+     *
+     * @param userId the id of the user.
+     * @param filter the filter to apply on the notices.
+     * @param after the cursor of the last notice already checked, or null to start from the newest one.
+     * @param limit the maximum number of notices to return.
+     * @return the unread notices, and the cursor to continue from.
+     */
+    public UnreadNotices findUnread(long userId, NoticeFilter filter, NoticeCursor after, int limit) {
+        List<Notice> unread = new ArrayList<>();
+        NoticeCursor cursor = after;
+        int scanned = 0;
+        while (scanned < properties.getMaxScanned()) {
+            List<Notice> batch = noticeRepository.findPageAfter(filter, cursor, properties.getScanBatchSize());
+            Map<String, Roaring64NavigableMap> readers = noticeReadReceiptsRepository.findAllReaders(
+                batch.stream().map(Notice::getId).collect(Collectors.toList())
+            );
+            for (Notice notice : batch) {
+                scanned++;
+                cursor = NoticeCursor.of(notice);
+                Roaring64NavigableMap stored = readers.get(notice.getId());
+                if ((stored == null || !stored.contains(userId)) && !hasBufferedRead(notice.getId(), userId)) {
+                    unread.add(notice);
+                    if (unread.size() == limit) {
+                        return new UnreadNotices(unread, cursor);
+                    }
+                }
+            }
+            if (batch.size() < properties.getScanBatchSize()) {
+                return new UnreadNotices(unread, null);
+            }
+        }
+        return new UnreadNotices(unread, cursor);
+    }
+
+    /**
+     * Forget the read receipts of a notice.
+     *
+     * @param noticeId the id of the notice.
+     */
+    public void deleteAll(String noticeId) {
+        // Waits for a running flush, which could otherwise write the receipts of the notice again once deleted.
+        flushing.lock();
+        try {
+            buffer.remove(noticeId);
+            noticeReadReceiptsRepository.deleteById(noticeId);
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    /**
+     * Write the buffered read receipts.
+     */
+    @Scheduled(fixedDelayString = "${application.read-receipts.flush-ms:5000}")
+    public void flush() {
+        flushing.lock();
+        try {
+            flushBuffer();
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void tryFlush() {
+        if (flushing.tryLock()) {
+            try {
+                flushBuffer();
+            } finally {
+                flushing.unlock();
+            }
+        }
+    }
+
+    private void flushBuffer() {
+        buffered.set(0);
+        for (String noticeId : buffer.keySet()) {
+            Roaring64NavigableMap readers = readBuffered(noticeId, NoticeReadReceiptService::copyOf);
+            if (readers == null) {
+                continue;
+            }
+            try {
+                // A receipt recorded while its notice was being deleted would otherwise create its receipts again.
+                if (!noticeRepository.existsById(noticeId) && noticeRepository.findArchivedById(noticeId).isEmpty()) {
+                    buffer.remove(noticeId);
+                    continue;
+                }
+                noticeReadReceiptsRepository.addReaders(noticeId, readers);
+            } catch (RuntimeException e) {
+                log.warn("Could not write the read receipts of Notice {}, retrying on the next flush: {}", noticeId, e.getMessage());
+                continue;
+            }
+            // Only removed once written, so they are never missing from both the buffer and the database.
+            buffer.computeIfPresent(
+                noticeId,
+                (id, buffering) -> {
+                    buffering.andNot(readers);
+                    return buffering.getLongCardinality() == 0 ? null : buffering;
+                }
+            );
+        }
+    }
+
+    private boolean hasBufferedRead(String noticeId, long userId) {
+        return Boolean.TRUE.equals(readBuffered(noticeId, readers -> readers.contains(userId)));
+    }
+
+    /**
+     * Apply a function to the buffered readers of a notice, while no receipt is added to them.
+     *
+     * @return the result of the function, or null if no receipt of the notice is buffered.
+     */
+    private <T> T readBuffered(String noticeId, Function<Roaring64NavigableMap, T> read) {
+        List<T> result = new ArrayList<>(1);
+        buffer.computeIfPresent(
+            noticeId,
+            (id, readers) -> {
+                result.add(read.apply(readers));
+                return readers;
+            }
+        );
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    private static Roaring64NavigableMap copyOf(Roaring64NavigableMap readers) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        copy.or(readers);
+        return copy;
+    }
+
+    /**
+     * A page of unread notices.
+     */
+    public static final class UnreadNotices {
+
+        private final List<Notice> notices;
+
+        private final NoticeCursor next;
+
+        private UnreadNotices(List<Notice> notices, NoticeCursor next) {
+            this.notices = notices;
+            this.next = next;
+        }
+
+        public List<Notice> getNotices() {
+            return notices;
+        }
+
+        /**
+         * @return the cursor to continue from, or empty once every notice was checked.
+         */
+        public Optional<NoticeCursor> getNext() {
+            return Optional.ofNullable(next);
+        }
+    }
+}
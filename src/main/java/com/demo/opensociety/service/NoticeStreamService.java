@@ -0,0 +1,357 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.config.Constants;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.management.NoticeMetersService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service pushing the new and changed notices to the clients of the notice event streams.
+ * <p>
+ * The streams are asynchronous requests: an idle stream holds a connection but no thread. Every notice written by
+ * any node is {@link #publish published} once per node by the {@link NoticeChangeStreamService}, and fanned out to
+ * the streams of the node whose filter matches it once it is published: a notice written ahead of its publish date
+ * is only pushed when the {@link NoticePublicationService} publishes it. Streams are indexed by their filter, so a notice only costs
+ * the lookup of the four filters it can match, whatever the number of streams.
+ * <p>
+ * The events of a stream are written in order by a small pool of sender threads, so a slow client never delays the
+ * change stream nor the other clients; a client which falls {@code application.notice-stream.max-pending-events}
+ * behind is disconnected. {@link NoticeType#EMERGENCY} notices skip the line: they are queued in a separate lane of
+ * every stream, sent first, and by the emergency executor rather than behind the other streams on the sender pool.
+ */
+@Service
+public class NoticeStreamService {
+
+    static final String NOTICE_EVENT = "notice";
+
+    private final Logger log = LoggerFactory.getLogger(NoticeStreamService.class);
+
+    private final Map<Key, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ApplicationProperties.NoticeStream properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final NoticeMetersService noticeMetersService;
+
+    private final ExecutorService senders;
+
+    private final Executor emergencyExecutor;
+
+    public NoticeStreamService(
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        NoticeMetersService noticeMetersService,
+        @Qualifier(Constants.EMERGENCY_TASK_EXECUTOR) Executor emergencyExecutor
+    ) {
+        this.objectMapper = objectMapper;
+        this.noticeMetersService = noticeMetersService;
+        this.emergencyExecutor = emergencyExecutor;
+        this.properties = applicationProperties.getNoticeStream();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("notice-stream-");
+        threadFactory.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Open an event stream of the notices.
+     *
+     * @param noticeType the type of the notices to stream, or null for every type.
+     * @param userId the user of the notices to stream, or null for every user.
+     * @return the emitter of the stream.
+     */
+    public SseEmitter subscribe(NoticeType noticeType, Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        Key key = new Key(noticeType, userId);
+        Subscriber subscriber = new Subscriber(emitter);
+        Runnable unsubscribe = () -> unsubscribe(key, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(() -> {
+            unsubscribe.run();
+            // Completes the timed out stream, which would otherwise end with an error on its committed response.
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe.run());
+        subscribers.compute(
+            key,
+            (k, set) -> {
+                Set<Subscriber> subscribed = set != null ? set : ConcurrentHashMap.newKeySet();
+                subscribed.add(subscriber);
+                return subscribed;
+            }
+        );
+        log.debug("Opened notice stream {}, {} streams open", key, subscriberCount.incrementAndGet());
+        return emitter;
+    }
+
+    /**
+     * Push a new or changed notice to the matching streams, unless it is not published yet.
+     *
+     * @param notice the notice.
+     */
+    public void publish(Notice notice) {
+        if (subscriberCount.get() == 0 || !Boolean.TRUE.equals(notice.getPublished())) {
+            return;
+        }
+        String id = notice.getId() + ":" + notice.getVersion();
+        String data;
+        try {
+            // Serialized once for all the streams.
+            data = objectMapper.writeValueAsString(notice);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize notice {} for the notice streams: {}", notice.getId(), e.getMessage());
+            return;
+        }
+        StreamEvent event = new StreamEvent(
+            () -> SseEmitter.event().name(NOTICE_EVENT).id(id).data(data, MediaType.APPLICATION_JSON),
+            notice.getNoticeType(),
+            notice.getLastModifiedDate()
+        );
+        boolean emergency = notice.getNoticeType() == NoticeType.EMERGENCY;
+        for (Key key : Key.matching(notice)) {
+            Set<Subscriber> matching = subscribers.get(key);
+            if (matching != null) {
+                matching.forEach(subscriber -> subscriber.enqueue(event, emergency));
+            }
+        }
+    }
+
+    /**
+     * Send a comment on every stream, so that proxies keep them open and the streams of gone clients are closed.
+     */
+    @Scheduled(fixedDelayString = "${application.notice-stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        StreamEvent comment = new StreamEvent(() -> SseEmitter.event().comment(""), null, null);
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.enqueue(comment, false)));
+    }
+
+    /**
+     * @return the number of streams open on this node.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unsubscribe(Key key, Subscriber subscriber) {
+        // Empty sets are removed, as most filters are on a single user.
+        subscribers.computeIfPresent(
+            key,
+            (k, set) -> {
+                if (set.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                }
+                return set.isEmpty() ? null : set;
+            }
+        );
+    }
+
+    private static final class Key {
+
+        private final NoticeType noticeType;
+
+        private final Long userId;
+
+        private Key(NoticeType noticeType, Long userId) {
+            this.noticeType = noticeType;
+            this.userId = userId;
+        }
+
+        /**
+         * @return the keys of the filters matching a notice.
+         */
+        private static Set<Key> matching(Notice notice) {
+            // A set, as the keys are the same when the notice has no type or no user.
+            return Set.copyOf(
+                Arrays.asList(
+                    new Key(null, null),
+                    new Key(notice.getNoticeType(), null),
+                    new Key(null, notice.getUserId()),
+                    new Key(notice.getNoticeType(), notice.getUserId())
+                )
+            );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return noticeType == other.noticeType && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(noticeType, userId);
+        }
+
+        @Override
+        public String toString() {
+            return "noticeType=" + noticeType + ", userId=" + userId;
+        }
+    }
+
+    /**
+     * An event to send, and what is needed to measure its delivery.
+     */
+    private static final class StreamEvent {
+
+        /**
+         * Event builders are not reusable, building an event appends to it.
+         */
+        private final Supplier<SseEmitter.SseEventBuilder> builder;
+
+        private final NoticeType noticeType;
+
+        private final Instant writtenAt;
+
+        private StreamEvent(Supplier<SseEmitter.SseEventBuilder> builder, NoticeType noticeType, Instant writtenAt) {
+            this.builder = builder;
+            this.noticeType = noticeType;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Queue<StreamEvent> urgent = new ConcurrentLinkedQueue<>();
+
+        private final Queue<StreamEvent> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Held while sending, so that the events are written one at a time, in order within each lane.
+         */
+        private final Lock sending = new ReentrantLock();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(StreamEvent event, boolean emergency) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.getMaxPendingEvents()) {
+                if (closed.compareAndSet(false, true)) {
+                    log.debug("Closing a notice stream whose client is too slow");
+                    urgent.clear();
+                    pending.clear();
+                    emitter.complete();
+                }
+                return;
+            }
+            if (!emergency) {
+                pending.add(event);
+                schedule();
+                return;
+            }
+            urgent.add(event);
+            try {
+                // Sent right away by the emergency executor, or next by the sender already writing to this stream.
+                emergencyExecutor.execute(() -> send(true));
+            } catch (RejectedExecutionException e) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(() -> {
+                    scheduled.set(false);
+                    send(false);
+                });
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        /**
+         * Send the urgent events, then the other ones unless {@code urgentOnly}, checking for urgent events before
+         * every other one.
+         */
+        private void send(boolean urgentOnly) {
+            // Loops as events enqueued while the lock was held by another thread may have been left to this one.
+            while (sending.tryLock()) {
+                try {
+                    StreamEvent event;
+                    while ((event = urgent.poll()) != null || (!urgentOnly && (event = pending.poll()) != null)) {
+                        pendingCount.decrementAndGet();
+                        emitter.send(event.builder.get());
+                        if (event.writtenAt != null) {
+                            noticeMetersService.recordDelivery(event.noticeType, Duration.between(event.writtenAt, Instant.now()));
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client is gone, or the stream already completed.
+                    if (closed.compareAndSet(false, true)) {
+                        emitter.completeWithError(e);
+                    }
+                    urgent.clear();
+                    pending.clear();
+                    return;
+                } finally {
+                    sending.unlock();
+                }
+                if (!pending.isEmpty() && urgentOnly) {
+                    schedule();
+                }
+                if (urgent.isEmpty() && (urgentOnly || pending.isEmpty())) {
+                    return;
+                }
+            }
+        }
+    }
+}
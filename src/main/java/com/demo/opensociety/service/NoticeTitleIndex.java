@@ -0,0 +1,262 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.service.dto.NoticeSuggestionDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the notice titles.
+ * <p>
+ * Every notice gets a dense {@code int} ordinal, in insertion order. Title words are normalized and kept in a
+ * sorted map whose values are sorted {@code int} postings, so a prefix lookup is a range scan of that map.
+ * The postings of every query word are OR-ed into a {@link BitSet}, the bit sets of the query words AND-ed,
+ * and the most recent matches are read from the highest set bits.
+ * <p>
+ * This class is thread-safe; lookups only take a shared lock.
+ */
+public class NoticeTitleIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+
+    private String[] titles = new String[INITIAL_CAPACITY];
+
+    private int next;
+
+    /**
+     * Add or replace the title of a notice.
+     *
+     * @param id the id of the notice.
+     * @param title the title of the notice.
+     */
+    public void put(String id, String title) {
+        Set<String> tokens = tokenize(title);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = allocate(id);
+            } else {
+                unindex(ordinal);
+            }
+            titles[ordinal] = title;
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new Postings()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a notice from the index.
+     *
+     * @param id the id of the notice.
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                unindex(ordinal);
+                ids[ordinal] = null;
+                titles[ordinal] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the notices whose title has, for every word of the query, a word starting with it.
+     *
+     * @param query the words typed so far.
+     * @param limit the maximum number of suggestions.
+     * @return the matching notices, most recently indexed first.
+     */
+    public List<NoticeSuggestionDTO> suggest(String query, int limit) {
+        Set<String> prefixes = tokenize(query);
+        if (prefixes.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String prefix : prefixes) {
+                BitSet prefixMatches = new BitSet(next);
+                for (Postings prefixPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    prefixPostings.addTo(prefixMatches);
+                }
+                if (matches == null) {
+                    matches = prefixMatches;
+                } else {
+                    matches.and(prefixMatches);
+                }
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<NoticeSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (int ordinal = matches.length() - 1; ordinal >= 0 && suggestions.size() < limit; ordinal = matches.previousSetBit(ordinal - 1)) {
+                suggestions.add(new NoticeSuggestionDTO(ids[ordinal], titles[ordinal]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of notices in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private int allocate(String id) {
+        if (next == ids.length) {
+            if (ordinals.size() < next / 2) {
+                compact();
+            } else {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                titles = Arrays.copyOf(titles, titles.length * 2);
+            }
+        }
+        int ordinal = next++;
+        ids[ordinal] = id;
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void unindex(int ordinal) {
+        for (String token : tokenize(titles[ordinal])) {
+            Postings tokenPostings = postings.get(token);
+            if (tokenPostings != null && tokenPostings.remove(ordinal) && tokenPostings.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Renumber the live notices densely, keeping their relative order, to reclaim the ordinals of removed notices.
+     */
+    private void compact() {
+        String[] liveIds = new String[ids.length];
+        String[] liveTitles = new String[titles.length];
+        int live = 0;
+        ordinals.clear();
+        postings.clear();
+        for (int ordinal = 0; ordinal < next; ordinal++) {
+            if (ids[ordinal] != null) {
+                liveIds[live] = ids[ordinal];
+                liveTitles[live] = titles[ordinal];
+                ordinals.put(ids[ordinal], live);
+                for (String token : tokenize(titles[ordinal])) {
+                    postings.computeIfAbsent(token, key -> new Postings()).add(live);
+                }
+                live++;
+            }
+        }
+        ids = liveIds;
+        titles = liveTitles;
+        next = live;
+    }
+
+    /**
+     * Sorted, growable list of ordinals.
+     */
+    private static final class Postings {
+
+        private int[] values = new int[2];
+
+        private int size;
+
+        void add(int ordinal) {
+            // New notices get the highest ordinal, so appending is the common case.
+            if (size == 0 || values[size - 1] < ordinal) {
+                ensureCapacity();
+                values[size++] = ordinal;
+                return;
+            }
+            int position = Arrays.binarySearch(values, 0, size, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            ensureCapacity();
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = ordinal;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            int position = Arrays.binarySearch(values, 0, size, ordinal);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(values[i]);
+            }
+        }
+
+        private void ensureCapacity() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+        }
+    }
+}
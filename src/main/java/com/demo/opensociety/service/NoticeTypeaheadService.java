@@ -0,0 +1,74 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.repository.NoticeRepository;
+import com.demo.opensociety.service.dto.NoticeSuggestionDTO;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service answering search-as-you-type requests on the notice titles from an in-memory {@link NoticeTitleIndex}.
+ * <p>
+ * The index is loaded once the application is ready and must be kept current by calling
+ * {@link #index(Notice)} and {@link #remove(String)} on every notice write.
+ */
+@Service
+public class NoticeTypeaheadService {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final Logger log = LoggerFactory.getLogger(NoticeTypeaheadService.class);
+
+    private final NoticeRepository noticeRepository;
+
+    private final NoticeTitleIndex titleIndex = new NoticeTitleIndex();
+
+    public NoticeTypeaheadService(NoticeRepository noticeRepository) {
+        this.noticeRepository = noticeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.debug("Loading the notice titles in the typeahead index");
+        try (Stream<Notice> notices = noticeRepository.streamTitlesBy()) {
+            notices.forEach(this::index);
+        }
+        log.info("Loaded {} notice titles in the typeahead index", titleIndex.size());
+    }
+
+    /**
+     * Add or refresh a notice in the index.
+     *
+     * @param notice the saved notice.
+     */
+    public void index(Notice notice) {
+        if (notice.getId() != null && notice.getTitle() != null) {
+            titleIndex.put(notice.getId(), notice.getTitle());
+        }
+    }
+
+    /**
+     * Remove a notice from the index.
+     *
+     * @param id the id of the deleted notice.
+     */
+    public void remove(String id) {
+        titleIndex.remove(id);
+    }
+
+    /**
+     * Suggest notices whose title matches the words typed so far.
+     *
+     * @param query the words typed so far, the last one possibly incomplete.
+     * @param limit the maximum number of suggestions, capped to {@link #MAX_SUGGESTIONS}.
+     * @return the suggestions, most recent notices first.
+     */
+    public List<NoticeSuggestionDTO> suggest(String query, int limit) {
+        return titleIndex.suggest(query, Math.min(limit, MAX_SUGGESTIONS));
+    }
+}
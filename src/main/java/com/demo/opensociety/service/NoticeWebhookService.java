@@ -0,0 +1,46 @@
+package com.demo.opensociety.service;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.NoticeEvent;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * {@link NoticeEventHandler} posting the outbox events, as JSON, to {@code application.outbox.webhook-url}.
+ * <p>
+ * An event is delivered once the webhook answers with a {@code 2xx} status; any other answer, or no answer within
+ * {@code application.outbox.webhook-timeout-ms}, leaves it in the outbox to be posted again. The receiver may get an
+ * event more than once, and should discard the events whose {@code id} it already processed.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.outbox", name = "webhook-url")
+public class NoticeWebhookService implements NoticeEventHandler {
+
+    private final Logger log = LoggerFactory.getLogger(NoticeWebhookService.class);
+
+    private final RestTemplate restTemplate;
+
+    private final String webhookUrl;
+
+    public NoticeWebhookService(RestTemplateBuilder restTemplateBuilder, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Outbox properties = applicationProperties.getOutbox();
+        this.webhookUrl = properties.getWebhookUrl();
+        this.restTemplate =
+            restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(properties.getWebhookTimeoutMs()))
+                .setReadTimeout(Duration.ofMillis(properties.getWebhookTimeoutMs()))
+                .build();
+    }
+
+    @Override
+    public void handle(NoticeEvent event) {
+        log.debug("Posting {} to the notice webhook", event);
+        // Throws on any status but 2xx.
+        restTemplate.postForEntity(webhookUrl, event, Void.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.opensociety.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter spacing out the permits evenly, without bursts.
+ * <p>
+ * Each acquisition reserves the next free slots and waits for them, so concurrent callers are served in turn and the
+ * rate holds across threads. The limiter is thread-safe.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+
+    private final LongSupplier nanoClock;
+
+    private long nextFreeNanos;
+
+    /**
+     * @param permitsPerSecond the rate, or 0 for no limit.
+     */
+    public RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, LongSupplier nanoClock) {
+        if (permitsPerSecond < 0) {
+            throw new IllegalArgumentException("Invalid rate " + permitsPerSecond);
+        }
+        this.intervalNanos = permitsPerSecond == 0 ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nanoClock = nanoClock;
+        this.nextFreeNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Wait for permits.
+     *
+     * @param permits the number of permits.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserve permits.
+     *
+     * @param permits the number of permits.
+     * @return how long to wait for them, in nanoseconds.
+     */
+    synchronized long reserve(int permits) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        // Unused time is not saved up, so an idle limiter does not allow a burst.
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + permits * intervalNanos;
+        return start - now;
+    }
+}
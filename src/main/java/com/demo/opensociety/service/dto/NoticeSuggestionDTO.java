@@ -0,0 +1,65 @@
+package com.demo.opensociety.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a typeahead suggestion on the {@link com.demo.opensociety.domain.Notice} titles.
+ */
+public class NoticeSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String title;
+
+    public NoticeSuggestionDTO() {}
+
+    public NoticeSuggestionDTO(String id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoticeSuggestionDTO)) {
+            return false;
+        }
+        NoticeSuggestionDTO that = (NoticeSuggestionDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(title, that.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeSuggestionDTO{" +
+            "id='" + getId() + "'" +
+            ", title='" + getTitle() + "'" +
+            "}";
+    }
+}
@@ -1,22 +1,87 @@
 package com.demo.opensociety.web.rest;
 
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.IdempotencyKey;
 import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeAttachment;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.management.NoticeMetersService;
+import com.demo.opensociety.repository.IdempotencyKeyRepository;
+import com.demo.opensociety.repository.NoticeCursor;
+import com.demo.opensociety.repository.NoticeFilter;
 import com.demo.opensociety.repository.NoticeRepository;
+import com.demo.opensociety.repository.NoticeSummary;
+import com.demo.opensociety.security.AuthoritiesConstants;
+import com.demo.opensociety.security.SecurityUtils;
+import com.demo.opensociety.service.NoticeAttachmentService;
+import com.demo.opensociety.service.NoticeMailService;
+import com.demo.opensociety.service.NoticeOutboxService;
+import com.demo.opensociety.service.NoticePublicationService;
+import com.demo.opensociety.service.NoticeReadReceiptService;
+import com.demo.opensociety.service.NoticeStreamService;
+import com.demo.opensociety.service.NoticeTypeaheadService;
+import com.demo.opensociety.service.dto.NoticeSuggestionDTO;
 import com.demo.opensociety.web.rest.errors.BadRequestAlertException;
+import com.demo.opensociety.web.rest.vm.BulkItemResultVM;
+import com.demo.opensociety.web.rest.vm.NoticeBatchVM;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.demo.opensociety.domain.Notice}.
@@ -29,48 +94,238 @@ public class NoticeResource {
 
     private static final String ENTITY_NAME = "communicationServiceNotice";
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final NoticeRepository noticeRepository;
 
-    public NoticeResource(NoticeRepository noticeRepository) {
+    private final ApplicationProperties.Pagination pagination;
+
+    private final ObjectMapper objectMapper;
+
+    private final NoticeMetersService noticeMetersService;
+
+    private final NoticeTypeaheadService noticeTypeaheadService;
+
+    private final ApplicationProperties.Bulk bulk;
+
+    private final Validator validator;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ApplicationProperties.Idempotency idempotency;
+
+    private final NoticePublicationService noticePublicationService;
+
+    private final NoticeAttachmentService noticeAttachmentService;
+
+    private final NoticeStreamService noticeStreamService;
+
+    private final NoticeMailService noticeMailService;
+
+    private final NoticeOutboxService noticeOutboxService;
+
+    private final NoticeReadReceiptService noticeReadReceiptService;
+
+    public NoticeResource(
+        NoticeRepository noticeRepository,
+        IdempotencyKeyRepository idempotencyKeyRepository,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        NoticeMetersService noticeMetersService,
+        NoticeTypeaheadService noticeTypeaheadService,
+        NoticePublicationService noticePublicationService,
+        NoticeAttachmentService noticeAttachmentService,
+        NoticeStreamService noticeStreamService,
+        NoticeMailService noticeMailService,
+        NoticeOutboxService noticeOutboxService,
+        NoticeReadReceiptService noticeReadReceiptService,
+        Validator validator
+    ) {
         this.noticeRepository = noticeRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.pagination = applicationProperties.getPagination();
+        this.bulk = applicationProperties.getBulk();
+        this.idempotency = applicationProperties.getIdempotency();
+        this.objectMapper = objectMapper;
+        this.noticeMetersService = noticeMetersService;
+        this.noticeTypeaheadService = noticeTypeaheadService;
+        this.noticePublicationService = noticePublicationService;
+        this.noticeAttachmentService = noticeAttachmentService;
+        this.noticeStreamService = noticeStreamService;
+        this.noticeMailService = noticeMailService;
+        this.noticeOutboxService = noticeOutboxService;
+        this.noticeReadReceiptService = noticeReadReceiptService;
+        this.validator = validator;
     }
 
     /**
      * {@code POST  /notices} : Create a new notice.
+     * <p>
+     * When an {@code Idempotency-Key} header is sent, retries of the request with the same key do not create the notice
+     * again but get the notice created by the first one, with an {@code Idempotent-Replayed} header. Keys are remembered
+     * for {@code application.idempotency.ttl-seconds}. A retry sent more than {@code application.idempotency.pending-seconds}
+     * after a first request which did not create the notice, for instance because its node stopped, creates it instead.
      *
+     * @param idempotencyKey the key identifying the creation across retries, if any.
      * @param notice the notice to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new notice, or with status {@code 400 (Bad Request)} if the notice has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new notice, or with status {@code 400 (Bad Request)} if the notice has already an ID,
+     * or with status {@code 404 (Not Found)} if the notice created with the key was deleted since,
+     * or with status {@code 409 (Conflict)} if the notice of the key is still being created by another request,
+     * or with status {@code 422 (Unprocessable Entity)} if the key was sent with another notice.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/notices")
-    public ResponseEntity<Notice> createNotice(@Valid @RequestBody Notice notice) throws URISyntaxException {
+    public ResponseEntity<Notice> createNotice(
+        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @Valid @RequestBody Notice notice
+    ) throws URISyntaxException {
         log.debug("REST request to save Notice : {}", notice);
         if (notice.getId() != null) {
             throw new BadRequestAlertException("A new notice cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Notice result = noticeRepository.save(notice);
+        notice.setVersion(null);
+        notice.setPublished(false);
+        notice.setAttachments(new ArrayList<>());
+
+        String keyId = null;
+        Instant pendingUntil = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new BadRequestAlertException("Invalid Idempotency-Key", ENTITY_NAME, "idempotencykeyinvalid");
+            }
+            // Keys are scoped to the user, so they cannot be used to read the notices of others.
+            keyId = SecurityUtils.getCurrentUserLogin().orElse("") + ":" + idempotencyKey;
+            String requestHash = requestHash(notice);
+            Instant now = Instant.now();
+            pendingUntil = now.plusSeconds(idempotency.getPendingSeconds());
+            notice.setId(new ObjectId().toHexString());
+            // Claiming the key is a single insert on _id, which fails for a retry without any prior lookup.
+            try {
+                idempotencyKeyRepository.insert(
+                    new IdempotencyKey()
+                        .id(keyId)
+                        .noticeId(notice.getId())
+                        .requestHash(requestHash)
+                        .pendingUntil(pendingUntil)
+                        .expiresAt(now.plusSeconds(idempotency.getTtlSeconds()))
+                );
+            } catch (DuplicateKeyException e) {
+                IdempotencyKey key = idempotencyKeyRepository
+                    .findById(keyId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "The Idempotency-Key expired while it was used"));
+                // Keys created before the request hashes were stored match any request.
+                if (key.getRequestHash() != null && !key.getRequestHash().equals(requestHash)) {
+                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "The Idempotency-Key was sent with another notice");
+                }
+                if (!takeOverIdempotencyKey(key, now, pendingUntil)) {
+                    return replayNoticeCreation(key);
+                }
+                // The notice gets the id claimed by the first request, so a late write of that request fails as a duplicate.
+                notice.setId(key.getNoticeId());
+            }
+        }
+
+        Notice result;
+        try {
+            result = noticeOutboxService.create(notice);
+        } catch (RuntimeException e) {
+            if (keyId != null) {
+                // Release the key so that a retry can create the notice, unless a retry already took it over.
+                idempotencyKeyRepository.release(keyId, pendingUntil);
+            }
+            throw e;
+        }
+        if (keyId != null) {
+            idempotencyKeyRepository.complete(keyId);
+        }
+        noticeTypeaheadService.index(result);
+        noticePublicationService.schedule(result);
         return ResponseEntity
             .created(new URI("/api/notices/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /notices/_bulk} : Create new notices in bulk.
+     * <p>
+     * Every notice is validated on its own; the valid ones are written with unordered bulk writes of
+     * {@code application.bulk.batch-size} notices, so one failing notice does not prevent the others from being created.
+     *
+     * @param notices the notices to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every notice, in the order
+     * of the request, or with status {@code 400 (Bad Request)} if more notices than {@code application.bulk.max-items} are sent.
+     */
+    @PostMapping("/notices/_bulk")
+    public ResponseEntity<List<BulkItemResultVM>> createNotices(@NotNull @RequestBody List<Notice> notices) {
+        log.debug("REST request to save {} Notices in bulk", notices.size());
+        if (notices.size() > bulk.getMaxItems()) {
+            throw new BadRequestAlertException("Too many notices sent", ENTITY_NAME, "toomanyitems");
+        }
+        List<BulkItemResultVM> results = new ArrayList<>(notices.size());
+        List<Notice> valid = new ArrayList<>(notices.size());
+        List<BulkItemResultVM> validResults = new ArrayList<>(notices.size());
+        for (int index = 0; index < notices.size(); index++) {
+            Notice notice = notices.get(index);
+            List<String> errors = validate(notice);
+            BulkItemResultVM result = new BulkItemResultVM(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+            if (errors.isEmpty()) {
+                notice.setAttachments(new ArrayList<>());
+                valid.add(notice);
+                validResults.add(result);
+            }
+            results.add(result);
+        }
+
+        Map<Integer, String> failures = noticeOutboxService.createdInBulk(valid, bulk.getBatchSize());
+        for (int i = 0; i < valid.size(); i++) {
+            BulkItemResultVM result = validResults.get(i);
+            String failure = failures.get(i);
+            if (failure != null) {
+                log.warn("Bulk insert of Notice {} failed: {}", result.getIndex(), failure);
+                result.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                result.getErrors().add(failure);
+            } else {
+                result.setStatus(HttpStatus.CREATED.value());
+                result.setId(valid.get(i).getId());
+                noticeTypeaheadService.index(valid.get(i));
+                noticePublicationService.schedule(valid.get(i));
+            }
+        }
+        return ResponseEntity.ok().body(results);
+    }
+
     /**
      * {@code PUT  /notices/:id} : Updates an existing notice.
+     * <p>
+     * The notice is only updated if it still has the version given by the {@code If-Match} header or, failing that,
+     * by the {@code version} of the body. Without either, the notice is overwritten whatever its version.
      *
      * @param id the id of the notice to save.
+     * @param ifMatch the ETag of the notice version to update, if any.
      * @param notice the notice to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated notice,
      * or with status {@code 400 (Bad Request)} if the notice is not valid,
+     * or with status {@code 409 (Conflict)} if the notice has another version than the one of the body,
+     * or with status {@code 412 (Precondition Failed)} if the notice has another version than the {@code If-Match} one,
      * or with status {@code 500 (Internal Server Error)} if the notice couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/notices/{id}")
     public ResponseEntity<Notice> updateNotice(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Notice notice
     ) throws URISyntaxException {
         log.debug("REST request to update Notice : {}, {}", id, notice);
@@ -81,31 +336,40 @@ public class NoticeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!noticeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Notice result = noticeRepository.save(notice);
+        // A single conditional write: it never inserts the notice again if it was deleted in the meantime.
+        Long expectedVersion = versionOf(ifMatch);
+        Notice result = noticeOutboxService
+            .updated(() -> noticeRepository.replace(notice, expectedVersion != null ? expectedVersion : notice.getVersion()))
+            .orElseThrow(() -> notUpdated(id, expectedVersion));
+        noticeTypeaheadService.index(result);
+        noticePublicationService.schedule(result);
         return ResponseEntity
             .ok()
+            .eTag(eTagOf(result))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, notice.getId()))
             .body(result);
     }
 
     /**
      * {@code PATCH  /notices/:id} : Partial updates given fields of an existing notice, field will ignore if it is null
+     * <p>
+     * The notice is only updated if it still has the version given by the {@code If-Match} header or, failing that,
+     * by the {@code version} of the body.
      *
      * @param id the id of the notice to save.
+     * @param ifMatch the ETag of the notice version to update, if any.
      * @param notice the notice to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated notice,
-     * or with status {@code 400 (Bad Request)} if the notice is not valid,
-     * or with status {@code 404 (Not Found)} if the notice is not found,
+     * or with status {@code 400 (Bad Request)} if the notice is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the notice has another version than the one of the body,
+     * or with status {@code 412 (Precondition Failed)} if the notice has another version than the {@code If-Match} one,
      * or with status {@code 500 (Internal Server Error)} if the notice couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/notices/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Notice> partialUpdateNotice(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Notice notice
     ) throws URISyntaxException {
         log.debug("REST request to partial update Notice partially : {}, {}", id, notice);
@@ -116,58 +380,237 @@ public class NoticeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!noticeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        // The non-null fields are set in a single atomic write, so concurrent patches of other fields are not lost.
+        Long expectedVersion = versionOf(ifMatch);
+        Notice result = noticeOutboxService
+            .updated(() -> noticeRepository.patch(notice, expectedVersion != null ? expectedVersion : notice.getVersion()))
+            .orElseThrow(() -> notUpdated(id, expectedVersion));
+        noticeTypeaheadService.index(result);
+        noticePublicationService.schedule(result);
+
+        return ResponseEntity
+            .ok()
+            .eTag(eTagOf(result))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, notice.getId()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /notices} : get all the notices.
+     * <p>
+     * Notices can be filtered by {@code noticeType}, {@code userId}, a {@code [publishDateFrom, publishDateTo)} window and
+     * whether they are {@code published} yet. Only published notices are listed, unless an administrator asks for the
+     * unpublished ones.
+     * When a {@code cursor} or a {@code size} is given, the notices are returned one page at a time, newest first,
+     * and the continuation token of the next page is sent in the {@code X-Next-Cursor} and {@code Link} headers.
+     * <p>
+     * The response carries an {@code ETag} derived from the ids and versions of the listed notices. When
+     * the request has a matching {@code If-None-Match}, only those versions are read and no notice body is loaded.
+     *
+     * @param filter the filter to apply on the notices.
+     * @param cursor the continuation token returned with the previous page, if any.
+     * @param size the requested page size, capped to {@code application.pagination.max-size}.
+     * @param webRequest the current request, for the conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notices in body,
+     * or with status {@code 304 (Not Modified)} if the listed notices did not change,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/notices")
+    public ResponseEntity<List<Notice>> getAllNotices(
+        NoticeFilter filter,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        WebRequest webRequest
+    ) {
+        restrictToVisible(filter);
+        boolean conditional = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        if (cursor == null && size == null) {
+            log.debug("REST request to get all Notices by filter : {}", filter);
+            if (conditional && webRequest.checkNotModified(eTagOf(noticeRepository.findAllVersions(filter)))) {
+                return null;
+            }
+            List<Notice> notices = filter.isEmpty() ? noticeRepository.findAll() : noticeRepository.findAll(filter);
+            return ResponseEntity.ok().eTag(eTagOf(notices)).body(notices);
         }
+        log.debug("REST request to get a page of Notices by filter : {} after cursor : {}", filter, cursor);
+        int pageSize = pageSize(size);
+        NoticeCursor after = decodeCursor(cursor);
+        // Fetch one extra notice to know whether a next page exists without counting the collection.
+        if (conditional) {
+            List<Notice> versions = noticeRepository.findPageVersionsAfter(filter, after, pageSize + 1);
+            if (webRequest.checkNotModified(eTagOf(versions.subList(0, Math.min(versions.size(), pageSize))))) {
+                return null;
+            }
+        }
+        List<Notice> notices = noticeRepository.findPageAfter(filter, after, pageSize + 1);
+        return keysetPage(notices, pageSize, NoticeCursor::of, NoticeResource::eTagOf);
+    }
 
-        Optional<Notice> result = noticeRepository
-            .findById(notice.getId())
-            .map(existingNotice -> {
-                if (notice.getTitle() != null) {
-                    existingNotice.setTitle(notice.getTitle());
-                }
-                if (notice.getBody() != null) {
-                    existingNotice.setBody(notice.getBody());
-                }
-                if (notice.getPublishDate() != null) {
-                    existingNotice.setPublishDate(notice.getPublishDate());
-                }
-                if (notice.getNoticeType() != null) {
-                    existingNotice.setNoticeType(notice.getNoticeType());
-                }
-                if (notice.getUserId() != null) {
-                    existingNotice.setUserId(notice.getUserId());
+    /**
+     * {@code GET  /notices/_summary} : get a page of notice summaries, without their body.
+     * <p>
+     * Takes the same filter and keyset pagination parameters as {@code GET /notices}, the first page being
+     * returned when no {@code cursor} is given. Only published notices are listed, unless an administrator asks for
+     * the unpublished ones.
+     *
+     * @param filter the filter to apply on the notices.
+     * @param cursor the continuation token returned with the previous page, if any.
+     * @param size the requested page size, capped to {@code application.pagination.max-size}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notice summaries in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/notices/_summary")
+    public ResponseEntity<List<NoticeSummary>> getNoticeSummaries(
+        NoticeFilter filter,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size
+    ) {
+        restrictToVisible(filter);
+        log.debug("REST request to get a page of Notice summaries by filter : {} after cursor : {}", filter, cursor);
+        int pageSize = pageSize(size);
+        List<NoticeSummary> summaries = noticeRepository.findSummaryPageAfter(filter, decodeCursor(cursor), pageSize + 1);
+        return keysetPage(summaries, pageSize, NoticeCursor::of, null);
+    }
+
+    /**
+     * {@code GET  /_suggest/notices?query=:query} : suggest notices whose title matches the words typed so far.
+     * <p>
+     * Suggestions are answered from memory, without querying the database.
+     *
+     * @param query the words typed so far, the last one possibly incomplete.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the suggestions in body, most recent notices first.
+     */
+    @GetMapping("/_suggest/notices")
+    public ResponseEntity<List<NoticeSuggestionDTO>> suggestNotices(
+        @RequestParam String query,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to suggest Notices for query {}", query);
+        return ResponseEntity.ok().body(noticeTypeaheadService.suggest(query, size));
+    }
+
+    /**
+     * {@code GET  /notices/_export} : export all the notices as newline-delimited JSON.
+     * <p>
+     * Notices are written one by one from a database cursor to the response, so memory usage does not
+     * depend on the size of the collection.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the notices streamed in body.
+     */
+    @GetMapping(value = "/notices/_export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNotices() {
+        log.debug("REST request to export all Notices");
+        ObjectWriter writer = objectMapper.writerFor(Notice.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (
+                Stream<Notice> notices = noticeRepository.streamAllByOrderByIdAsc();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+            ) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                Iterator<Notice> iterator = notices.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
                 }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
 
-                return existingNotice;
-            })
-            .map(noticeRepository::save);
+    /**
+     * {@code SEARCH  /_search/notices?query=:query} : search for the notice corresponding to the query.
+     *
+     * @param query the words to search in the notice titles and bodies.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the most relevant notices first in body.
+     */
+    @GetMapping("/_search/notices")
+    public ResponseEntity<List<Notice>> searchNotices(@RequestParam String query, @ParameterObject Pageable pageable) {
+        log.debug("REST request to search for a page of Notices for query {}", query);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), pagination.getMaxSize()));
+        Page<Notice> result = noticeMetersService.recordSearch(() -> noticeRepository.search(query, page));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), result);
+        return ResponseEntity.ok().headers(headers).body(result.getContent());
+    }
 
-        return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, notice.getId()));
+    /**
+     * {@code POST  /notices/_batch} : get the notices of the given ids in a single database query.
+     * <p>
+     * The ids which are not in the notice collection are looked up in the archive, with a second query.
+     *
+     * @param ids the ids of the notices to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the found notices, in the order of the requested ids,
+     * and the requested ids which were not found, or with status {@code 400 (Bad Request)} if more ids than
+     * {@code application.pagination.max-size} are requested.
+     */
+    @PostMapping("/notices/_batch")
+    public ResponseEntity<NoticeBatchVM> getNoticesByIds(@NotNull @RequestBody List<String> ids) {
+        log.debug("REST request to get Notices by ids : {}", ids);
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > pagination.getMaxSize()) {
+            throw new BadRequestAlertException("Too many ids requested", ENTITY_NAME, "toomanyids");
+        }
+        Map<String, Notice> noticesById = new HashMap<>();
+        noticeRepository.findAllById(uniqueIds).forEach(found -> noticesById.put(found.getId(), found));
+        if (noticesById.size() < uniqueIds.size()) {
+            List<String> notInHotSet = new ArrayList<>(uniqueIds);
+            notInHotSet.removeAll(noticesById.keySet());
+            noticeRepository.findAllArchivedById(notInHotSet).forEach(found -> noticesById.put(found.getId(), found));
+        }
+        List<Notice> notices = new ArrayList<>(noticesById.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : uniqueIds) {
+            Notice found = noticesById.get(id);
+            if (found != null) {
+                notices.add(found);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return ResponseEntity.ok().body(new NoticeBatchVM(notices, missingIds));
     }
 
     /**
-     * {@code GET  /notices} : get all the notices.
+     * {@code GET  /notices/_stream} : open a Server-Sent Events stream of the new and changed notices.
+     * <p>
+     * Every notice written once the stream is open is sent as a {@code notice} event, until the stream times out after
+     * {@code application.notice-stream.timeout-ms}. Idle streams hold no thread, and get a comment every
+     * {@code application.notice-stream.heartbeat-ms}.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notices in body.
+     * @param noticeType the type of the notices to stream, if any.
+     * @param userId the user of the notices to stream, if any.
+     * @return the event stream.
      */
-    @GetMapping("/notices")
-    public List<Notice> getAllNotices() {
-        log.debug("REST request to get all Notices");
-        return noticeRepository.findAll();
+    @GetMapping(value = "/notices/_stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotices(
+        @RequestParam(required = false) NoticeType noticeType,
+        @RequestParam(required = false) Long userId
+    ) {
+        log.debug("REST request to stream Notices of type {} and user {}", noticeType, userId);
+        return noticeStreamService.subscribe(noticeType, userId);
     }
 
     /**
      * {@code GET  /notices/:id} : get the "id" notice.
+     * <p>
+     * Notices which are not in the notice collection are looked up in the archive.
      *
      * @param id the id of the notice to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the notice, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the notice,
+     * or with status {@code 304 (Not Modified)} if the notice matches the {@code If-None-Match} ETag,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/notices/{id}")
     public ResponseEntity<Notice> getNotice(@PathVariable String id) {
         log.debug("REST request to get Notice : {}", id);
-        Optional<Notice> notice = noticeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(notice);
+        Optional<Notice> notice = noticeRepository.findOneById(id).or(() -> noticeRepository.findArchivedById(id));
+        // Spring answers 304 (Not Modified) to a matching If-None-Match without serializing the notice.
+        return notice
+            .map(found -> ResponseEntity.ok().eTag(eTagOf(found)).body(found))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -179,7 +622,397 @@ public class NoticeResource {
     @DeleteMapping("/notices/{id}")
     public ResponseEntity<Void> deleteNotice(@PathVariable String id) {
         log.debug("REST request to delete Notice : {}", id);
-        noticeRepository.deleteById(id);
+        noticeOutboxService.deleted(() -> {
+            Optional<Notice> deleted = noticeRepository.findAndDeleteById(id).or(() -> noticeRepository.findArchivedById(id));
+            noticeRepository.deleteArchivedById(id);
+            return deleted;
+        });
+        noticeAttachmentService.deleteAll(id);
+        noticeReadReceiptService.deleteAll(id);
+        noticeTypeaheadService.remove(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /notices/:id/attachments} : Attach a file to the "id" notice.
+     * <p>
+     * The file is streamed to GridFS; the notice only keeps its metadata, and gets a new version. The content type of the
+     * file is stored normalized, {@code application/octet-stream} when the file has none.
+     *
+     * @param id the id of the notice.
+     * @param file the file to attach.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the metadata of the attachment,
+     * or with status {@code 400 (Bad Request)} if the content type of the file is not a valid media type,
+     * or with status {@code 404 (Not Found)} if the notice does not exist.
+     * @throws IOException if the file cannot be read.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "/notices/{id}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<NoticeAttachment> createNoticeAttachment(@PathVariable String id, @RequestParam("file") MultipartFile file)
+        throws IOException, URISyntaxException {
+        log.debug("REST request to attach {} to Notice : {}", file.getOriginalFilename(), id);
+        String filename = file.getOriginalFilename() != null && !file.getOriginalFilename().isBlank()
+            ? file.getOriginalFilename()
+            : file.getName();
+        String contentType = contentTypeOf(file);
+        NoticeAttachment attachment;
+        try (InputStream content = file.getInputStream()) {
+            attachment =
+                noticeAttachmentService
+                    .attach(id, content, filename, contentType, file.getSize())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        return ResponseEntity
+            .created(new URI("/api/notices/" + id + "/attachments/" + attachment.getFileId()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id))
+            .body(attachment);
+    }
+
+    /**
+     * {@code GET  /notices/:id/attachments/:fileId} : get the content of a file attached to the "id" notice.
+     * <p>
+     * The content is streamed from GridFS chunk by chunk. {@code Range} requests are answered with the requested byte
+     * ranges only; as attached files are never modified, their id is their ETag.
+     *
+     * @param id the id of the notice.
+     * @param fileId the id of the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the file,
+     * or with status {@code 206 (Partial Content)} and with body the requested ranges of the content,
+     * or with status {@code 304 (Not Modified)} if the file matches the {@code If-None-Match} ETag,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/notices/{id}/attachments/{fileId}")
+    public ResponseEntity<Resource> getNoticeAttachment(@PathVariable String id, @PathVariable String fileId) {
+        log.debug("REST request to get attachment {} of Notice : {}", fileId, id);
+        GridFsResource content = noticeAttachmentService
+            .getContent(id, fileId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // Spring answers Range requests with 206 (Partial Content), skipping to the ranges in the GridFS download stream.
+        return ResponseEntity
+            .ok()
+            .eTag(fileId)
+            .contentType(MediaType.parseMediaType(content.getContentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(content.getFilename(), StandardCharsets.UTF_8).build().toString()
+            )
+            .body(content);
+    }
+
+    /**
+     * {@code DELETE  /notices/:id/attachments/:fileId} : delete a file attached to the "id" notice.
+     *
+     * @param id the id of the notice.
+     * @param fileId the id of the file.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/notices/{id}/attachments/{fileId}")
+    public ResponseEntity<Void> deleteNoticeAttachment(@PathVariable String id, @PathVariable String fileId) {
+        log.debug("REST request to delete attachment {} of Notice : {}", fileId, id);
+        if (!noticeAttachmentService.detach(id, fileId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.noContent().headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id)).build();
+    }
+
+    /**
+     * {@code POST  /notices/:id/_mail} : mail the "id" notice.
+     * <p>
+     * The notice is mailed asynchronously, at the rate configured by {@code application.mail-fan-out}.
+     *
+     * @param id the id of the notice.
+     * @param recipients the email addresses of the recipients.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)},
+     * or with status {@code 400 (Bad Request)} if an address is not valid,
+     * or with status {@code 404 (Not Found)} if the notice does not exist,
+     * or with status {@code 503 (Service Unavailable)} if no SMTP server is configured or too many emails are queued.
+     */
+    @PostMapping("/notices/{id}/_mail")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> mailNotice(@PathVariable String id, @NotNull @RequestBody List<String> recipients) {
+        log.debug("REST request to mail Notice {} to {} recipients", id, recipients.size());
+        List<InternetAddress> addresses = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            try {
+                addresses.add(new InternetAddress(recipient, true));
+            } catch (AddressException e) {
+                throw new BadRequestAlertException("Invalid recipient address", ENTITY_NAME, "recipientinvalid");
+            }
+        }
+        Notice notice = noticeRepository.findOneById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!noticeMailService.mail(notice, addresses)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * {@code POST  /notices/:id/_read?readerId=:readerId} : record that a user has read the "id" notice.
+     * <p>
+     * Receipts are buffered and written in batches, every {@code application.read-receipts.flush-ms}. The user ids are
+     * not part of the authentication, so receipts are recorded by an administrator on behalf of the reader.
+     *
+     * @param id the id of the notice.
+     * @param readerId the id of the user who has read the notice.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)},
+     * or with status {@code 404 (Not Found)} if the notice does not exist, neither in the notices nor in the archive.
+     */
+    @PostMapping("/notices/{id}/_read")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> markNoticeRead(@PathVariable String id, @RequestParam long readerId) {
+        log.debug("REST request to mark Notice {} as read by user {}", id, readerId);
+        if (noticeRepository.findOneById(id).or(() -> noticeRepository.findArchivedById(id)).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        noticeReadReceiptService.markRead(id, readerId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * {@code GET  /notices/:id/_read?readerId=:readerId} : get whether a user has read the "id" notice.
+     * <p>
+     * Restricted to administrators, like the recording of the receipts.
+     *
+     * @param id the id of the notice.
+     * @param readerId the id of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and whether the user has read the notice in body.
+     */
+    @GetMapping("/notices/{id}/_read")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Boolean> hasReadNotice(@PathVariable String id, @RequestParam long readerId) {
+        log.debug("REST request to get whether user {} has read Notice {}", readerId, id);
+        return ResponseEntity.ok().body(noticeReadReceiptService.hasRead(id, readerId));
+    }
+
+    /**
+     * {@code GET  /notices/:id/_read/_count} : get the number of users who have read the "id" notice.
+     *
+     * @param id the id of the notice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of readers in body.
+     */
+    @GetMapping("/notices/{id}/_read/_count")
+    public ResponseEntity<Long> countNoticeReaders(@PathVariable String id) {
+        log.debug("REST request to count the readers of Notice {}", id);
+        return ResponseEntity.ok().body(noticeReadReceiptService.countReaders(id));
+    }
+
+    /**
+     * {@code GET  /notices/_unread?readerId=:readerId} : get a page of the published notices a user has not read yet.
+     * <p>
+     * Takes the same filter and keyset pagination parameters as {@code GET /notices}. A page may hold fewer notices
+     * than asked while more unread notices remain, when the user has read most notices: the next page is then still
+     * given by the {@code X-Next-Cursor} and {@code Link} headers, which are only missing after the last page.
+     * Restricted to administrators, like the recording of the receipts.
+     *
+     * @param readerId the id of the user.
+     * @param filter the filter to apply on the notices.
+     * @param cursor the continuation token returned with the previous page, if any.
+     * @param size the requested page size, capped to {@code application.pagination.max-size}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of unread notices in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/notices/_unread")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<Notice>> getUnreadNotices(
+        @RequestParam long readerId,
+        NoticeFilter filter,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of the Notices unread by user {} by filter : {} after cursor : {}", readerId, filter, cursor);
+        int pageSize = pageSize(size);
+        restrictToVisible(filter);
+        NoticeReadReceiptService.UnreadNotices unread = noticeReadReceiptService.findUnread(
+            readerId,
+            filter,
+            decodeCursor(cursor),
+            pageSize
+        );
+        HttpHeaders headers = new HttpHeaders();
+        unread.getNext().ifPresent(next -> addNextPageHeaders(headers, next, pageSize));
+        return ResponseEntity.ok().headers(headers).body(unread.getNotices());
+    }
+
+    private List<String> validate(Notice notice) {
+        List<String> errors = new ArrayList<>();
+        if (notice == null) {
+            errors.add("A notice is required");
+            return errors;
+        }
+        if (notice.getId() != null) {
+            errors.add("A new notice cannot already have an ID");
+        }
+        for (ConstraintViolation<Notice> violation : validator.validate(notice)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Take over a key left pending by a request which did not create its notice.
+     *
+     * @return whether the key was taken over, false if its notice is created and should be replayed.
+     * @throws ResponseStatusException with status {@code 409 (Conflict)} if the notice is still being created.
+     */
+    private boolean takeOverIdempotencyKey(IdempotencyKey key, Instant now, Instant pendingUntil) {
+        if (key.getPendingUntil() == null) {
+            return false;
+        }
+        if (key.getPendingUntil().isAfter(now)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The notice of this Idempotency-Key is not created yet");
+        }
+        if (noticeRepository.existsById(key.getNoticeId())) {
+            // Created by a request which stopped before completing the key.
+            idempotencyKeyRepository.complete(key.getId());
+            return false;
+        }
+        if (!idempotencyKeyRepository.takeOver(key.getId(), key.getPendingUntil(), pendingUntil)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The notice of this Idempotency-Key is not created yet");
+        }
+        log.debug("Taking over the creation of Idempotency-Key : {}", key.getId());
+        return true;
+    }
+
+    private ResponseEntity<Notice> replayNoticeCreation(IdempotencyKey key) throws URISyntaxException {
+        log.debug("Replaying the creation of Idempotency-Key : {}", key.getId());
+        Notice notice = noticeRepository
+            .findOneById(key.getNoticeId())
+            .or(() -> noticeRepository.findArchivedById(key.getNoticeId()))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "The notice of this Idempotency-Key was deleted"));
+        return ResponseEntity
+            .created(new URI("/api/notices/" + notice.getId()))
+            .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, notice.getId()))
+            .body(notice);
+    }
+
+    private String requestHash(Notice notice) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(notice));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the notice", e);
+        }
+    }
+
+    /**
+     * Explain why the conditional update of a notice matched nothing, with a database read which is only needed on failure.
+     */
+    private RuntimeException notUpdated(String id, Long ifMatchVersion) {
+        if (!noticeRepository.existsById(id)) {
+            return new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        }
+        if (ifMatchVersion != null) {
+            return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+        return new OptimisticLockingFailureException("Notice " + id + " was modified concurrently");
+    }
+
+    /**
+     * Parse the version of an {@code If-Match} header holding a single notice ETag.
+     *
+     * @return the version, or {@code null} if there is no header or it matches any version.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if the header cannot match a notice.
+     */
+    private static Long versionOf(String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not the ETag of a notice
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private NoticeCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return NoticeCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    private static String contentTypeOf(MultipartFile file) {
+        if (file.getContentType() == null || file.getContentType().isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        MediaType contentType;
+        try {
+            contentType = MediaType.parseMediaType(file.getContentType());
+        } catch (InvalidMediaTypeException e) {
+            throw new BadRequestAlertException("Invalid content type", ENTITY_NAME, "contenttypeinvalid");
+        }
+        if (contentType.isWildcardType() || contentType.isWildcardSubtype()) {
+            throw new BadRequestAlertException("Invalid content type", ENTITY_NAME, "contenttypeinvalid");
+        }
+        return contentType.toString();
+    }
+
+    private static void restrictToVisible(NoticeFilter filter) {
+        if (filter.getPublished() == null || !SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)) {
+            filter.setPublished(true);
+        }
+    }
+
+    private int pageSize(Integer size) {
+        return Math.min(Math.max(size != null ? size : pagination.getDefaultSize(), 1), pagination.getMaxSize());
+    }
+
+    private <T> ResponseEntity<List<T>> keysetPage(
+        List<T> fetched,
+        int pageSize,
+        Function<T, NoticeCursor> cursorOf,
+        Function<List<T>, String> eTagOf
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> page = fetched;
+        if (fetched.size() > pageSize) {
+            page = new ArrayList<>(fetched.subList(0, pageSize));
+            addNextPageHeaders(headers, cursorOf.apply(page.get(pageSize - 1)), pageSize);
+        }
+        if (eTagOf != null) {
+            headers.setETag(eTagOf.apply(page));
+        }
+        return ResponseEntity.ok().headers(headers).body(page);
+    }
+
+    private static void addNextPageHeaders(HttpHeaders headers, NoticeCursor cursor, int pageSize) {
+        String next = cursor.encode();
+        String nextUri = ServletUriComponentsBuilder
+            .fromCurrentRequest()
+            .replaceQueryParam("cursor", next)
+            .replaceQueryParam("size", pageSize)
+            .toUriString();
+        headers.add(NEXT_CURSOR_HEADER, next);
+        headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+    }
+
+    /**
+     * Strong ETag of a notice, from its version: no serialization of the notice is needed.
+     */
+    private static String eTagOf(Notice notice) {
+        if (notice.getVersion() == null) {
+            return null;
+        }
+        return "\"" + notice.getVersion() + "\"";
+    }
+
+    /**
+     * Strong ETag of a list of notices, hashing the ids and versions of its notices.
+     */
+    private static String eTagOf(List<Notice> notices) {
+        List<String> versions = new ArrayList<>(notices.size());
+        for (Notice notice : notices) {
+            versions.add(notice.getId() + ":" + (notice.getVersion() != null ? notice.getVersion() : ""));
+        }
+        Collections.sort(versions);
+        return "\"" + DigestUtils.md5DigestAsHex(String.join(";", versions).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -0,0 +1,78 @@
+package com.demo.opensociety.web.rest.vm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * View Model for the outcome of one item of a bulk request.
+ */
+public class BulkItemResultVM {
+
+    private int index;
+
+    private int status;
+
+    private String id;
+
+    private List<String> errors = new ArrayList<>();
+
+    public BulkItemResultVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultVM(int index, int status, String id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    /**
+     * @return the position of the item in the request.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * @return the HTTP status the item would have had as a single request.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultVM{" +
+            "index=" + index +
+            ", status=" + status +
+            ", id='" + id + "'" +
+            ", errors=" + errors +
+            "}";
+    }
+}
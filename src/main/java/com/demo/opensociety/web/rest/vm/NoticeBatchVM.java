@@ -0,0 +1,50 @@
+package com.demo.opensociety.web.rest.vm;
+
+import com.demo.opensociety.domain.Notice;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * View Model returned by the notice batch get: the found notices, in the requested order, and the ids
+ * which did not match any notice.
+ */
+public class NoticeBatchVM {
+
+    private List<Notice> notices = new ArrayList<>();
+
+    private List<String> missingIds = new ArrayList<>();
+
+    public NoticeBatchVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public NoticeBatchVM(List<Notice> notices, List<String> missingIds) {
+        this.notices = notices;
+        this.missingIds = missingIds;
+    }
+
+    public List<Notice> getNotices() {
+        return notices;
+    }
+
+    public void setNotices(List<Notice> notices) {
+        this.notices = notices;
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<String> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NoticeBatchVM{" +
+            "notices=" + notices.size() +
+            ", missingIds=" + missingIds +
+            "}";
+    }
+}
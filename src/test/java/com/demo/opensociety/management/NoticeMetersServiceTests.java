@@ -0,0 +1,65 @@
+package com.demo.opensociety.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoticeMetersServiceTests {
+
+    private static final String SEARCH_TIMER_EXPECTED_NAME = "notice.search";
+
+    private static final String DELIVERY_TIMER_EXPECTED_NAME = "notice.delivery";
+
+    private static final String OUTBOX_COUNTER_EXPECTED_NAME = "notice.outbox.dispatched";
+
+    private MeterRegistry meterRegistry;
+
+    private NoticeMetersService noticeMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        noticeMetersService = new NoticeMetersService(meterRegistry, new ApplicationProperties());
+    }
+
+    @Test
+    void testRecordSearchShouldBeBoundToSearchTimer() {
+        assertThat(meterRegistry.get(SEARCH_TIMER_EXPECTED_NAME).timer().count()).isZero();
+
+        String result = noticeMetersService.recordSearch(() -> "result");
+
+        assertThat(result).isEqualTo("result");
+        assertThat(meterRegistry.get(SEARCH_TIMER_EXPECTED_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordDeliveryShouldBeBoundToTheTimerOfTheNoticeType() {
+        noticeMetersService.recordDelivery(NoticeType.EMERGENCY, Duration.ofMillis(20));
+        noticeMetersService.recordDelivery(NoticeType.COMMERCIAL, Duration.ofMillis(-5));
+        noticeMetersService.recordDelivery(null, Duration.ofMillis(20));
+
+        assertThat(meterRegistry.get(DELIVERY_TIMER_EXPECTED_NAME).tag("notice_type", "EMERGENCY").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(DELIVERY_TIMER_EXPECTED_NAME).tag("notice_type", "EMERGENCY").timer().totalTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(20);
+        assertThat(meterRegistry.get(DELIVERY_TIMER_EXPECTED_NAME).tag("notice_type", "COMMERCIAL").timer().count()).isZero();
+    }
+
+    @Test
+    void testOutboxMetersShouldBeRegistered() {
+        noticeMetersService.registerOutbox(() -> 2.5, () -> 40);
+        noticeMetersService.recordOutboxDispatch(3, 1);
+
+        assertThat(meterRegistry.get("notice.outbox.lag").gauge().value()).isEqualTo(2.5);
+        assertThat(meterRegistry.get("notice.outbox.throughput").gauge().value()).isEqualTo(40);
+        assertThat(meterRegistry.get(OUTBOX_COUNTER_EXPECTED_NAME).tag("result", "dispatched").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(OUTBOX_COUNTER_EXPECTED_NAME).tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+}
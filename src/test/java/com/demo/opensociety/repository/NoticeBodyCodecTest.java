@@ -0,0 +1,102 @@
+package com.demo.opensociety.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoticeBodyCodecTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private NoticeBodyCodec codec;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getBodyCompression().setEnabled(true);
+        applicationProperties.getBodyCompression().setThresholdBytes(1024);
+        codec = new NoticeBodyCodec(applicationProperties);
+    }
+
+    @Test
+    void testLargeBodyIsCompressed() {
+        String body = noticeText(8192);
+
+        Object encoded = codec.encode(body);
+
+        assertThat(encoded).isInstanceOf(Binary.class);
+        assertThat(((Binary) encoded).getType()).isEqualTo(NoticeBodyCodec.BINARY_SUBTYPE);
+        assertThat(((Binary) encoded).length()).isLessThan(body.length() / 2);
+        assertThat(NoticeBodyCodec.decode((Binary) encoded)).isEqualTo(body);
+    }
+
+    @Test
+    void testNonAsciiBodyRoundTrips() {
+        String body = "Coupure d'\u00c9lectricit\u00e9 \u2013 ".repeat(100);
+
+        assertThat(NoticeBodyCodec.decode((Binary) codec.encode(body))).isEqualTo(body);
+    }
+
+    @Test
+    void testSmallBodyIsKeptAsIs() {
+        String body = noticeText(1000);
+
+        assertThat(codec.encode(body)).isSameAs(body);
+        assertThat(codec.encode(null)).isNull();
+    }
+
+    @Test
+    void testIncompressibleBodyIsKeptAsIs() {
+        Random random = new Random(42);
+        StringBuilder body = new StringBuilder();
+        while (body.length() < 4096) {
+            body.append((char) (0x4e00 + random.nextInt(20000)));
+        }
+
+        assertThat(codec.encode(body.toString())).isInstanceOf(String.class);
+    }
+
+    @Test
+    void testDisabledCompressionKeepsBodies() {
+        applicationProperties.getBodyCompression().setEnabled(false);
+        String body = noticeText(8192);
+
+        assertThat(codec.encode(body)).isSameAs(body);
+    }
+
+    @Test
+    void testBinaryOfOtherSubtypeIsReadAsText() {
+        assertThat(NoticeBodyCodec.decode(new Binary("plain".getBytes(StandardCharsets.UTF_8)))).isEqualTo("plain");
+    }
+
+    @Test
+    void testOnlyTheBodyOfADocumentIsDecoded() {
+        String body = noticeText(8192);
+        Binary other = new Binary(NoticeBodyCodec.BINARY_SUBTYPE, new byte[] { 1, 2, 3 });
+        Document document = new Document("body", codec.encode(body)).append("other", other);
+
+        NoticeBodyCodec.decodeBody(document);
+
+        assertThat(document.get("body")).isEqualTo(body);
+        assertThat(document.get("other")).isSameAs(other);
+    }
+
+    /**
+     * Notice-like text: words of a small vocabulary, in random order.
+     */
+    private static String noticeText(int length) {
+        String[] words = { "water", "supply", "will", "be", "interrupted", "on", "Monday", "for", "the", "maintenance", "of", "tank" };
+        Random random = new Random(length);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
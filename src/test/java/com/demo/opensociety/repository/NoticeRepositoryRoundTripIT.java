@@ -0,0 +1,113 @@
+package com.demo.opensociety.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.IntegrationTest;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Round trips of the notice writes, counting the commands sent to the server. Their timings are measured by the
+ * {@code NoticeWriteBenchmark} JMH benchmark.
+ */
+@IntegrationTest
+@Import(NoticeRepositoryRoundTripIT.CommandCounterConfiguration.class)
+class NoticeRepositoryRoundTripIT {
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private CommandCounter commandCounter;
+
+    private Notice notice;
+
+    @BeforeEach
+    public void initTest() {
+        noticeRepository.deleteAll();
+        notice =
+            noticeRepository.save(
+                new Notice().title("title").body("body").publishDate(Instant.ofEpochMilli(0L)).noticeType(NoticeType.SOCIETY).userId(1L)
+            );
+    }
+
+    @Test
+    void patchTakesOneRoundTrip() {
+        commandCounter.reset();
+        noticeRepository.existsById(notice.getId());
+        noticeRepository.findById(notice.getId()).map(existing -> noticeRepository.save(existing.title("read-modify-write")));
+        int readModifyWriteCommands = commandCounter.count();
+
+        commandCounter.reset();
+        noticeRepository.patch(new Notice().id(notice.getId()).title("patch"), null);
+        int patchCommands = commandCounter.count();
+
+        assertThat(readModifyWriteCommands).isEqualTo(3);
+        assertThat(patchCommands).isEqualTo(1);
+        assertThat(noticeRepository.findById(notice.getId())).get().extracting(Notice::getTitle).isEqualTo("patch");
+    }
+
+    @Test
+    void replaceTakesOneRoundTrip() {
+        commandCounter.reset();
+        if (noticeRepository.existsById(notice.getId())) {
+            notice = noticeRepository.save(notice.title("check-then-save"));
+        }
+        int checkThenSaveCommands = commandCounter.count();
+
+        commandCounter.reset();
+        noticeRepository.replace(notice.title("replace"), null);
+        int replaceCommands = commandCounter.count();
+
+        assertThat(checkThenSaveCommands).isEqualTo(2);
+        assertThat(replaceCommands).isEqualTo(1);
+        assertThat(noticeRepository.findById(notice.getId())).get().extracting(Notice::getTitle).isEqualTo("replace");
+    }
+
+    @TestConfiguration
+    static class CommandCounterConfiguration {
+
+        @Bean
+        CommandCounter commandCounter() {
+            return new CommandCounter();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCounterCustomizer(CommandCounter commandCounter) {
+            return builder -> builder.addCommandListener(commandCounter);
+        }
+    }
+
+    static class CommandCounter implements CommandListener {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            BsonValue collection = event.getCommand().get(event.getCommandName());
+            if (collection != null && collection.isString() && "notice".equals(collection.asString().getValue())) {
+                count.incrementAndGet();
+            }
+        }
+
+        int count() {
+            return count.get();
+        }
+
+        void reset() {
+            count.set(0);
+        }
+    }
+}
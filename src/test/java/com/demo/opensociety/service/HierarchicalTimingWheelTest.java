@@ -0,0 +1,82 @@
+package com.demo.opensociety.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    public void setup() {
+        wheel = new HierarchicalTimingWheel<>(10, 8, START);
+    }
+
+    @Test
+    void testItemsAreDueExactlyAtTheirTime() {
+        assertThat(wheel.add("soon", START + 25)).isTrue();
+        assertThat(wheel.add("later", START + 5_000)).isTrue();
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(wheel.advanceTo(START + 24)).isEmpty();
+        assertThat(wheel.advanceTo(START + 25)).containsExactly("soon");
+        assertThat(wheel.advanceTo(START + 4_999)).isEmpty();
+        assertThat(wheel.advanceTo(START + 5_000)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testItemsDueBeforeTheClockAreRejected() {
+        wheel.advanceTo(START + 100);
+
+        assertThat(wheel.add("past", START + 50)).isFalse();
+        assertThat(wheel.add("now", START + 100)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testAdvanceOverSeveralLevelsReturnsEveryDueItem() {
+        wheel.add("a", START + 15);
+        wheel.add("b", START + 900);
+        wheel.add("c", START + 1_000_000);
+
+        assertThat(wheel.advanceTo(START + 1_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advanceTo(START + 2_000_000)).containsExactly("c");
+    }
+
+    @Test
+    void testRandomScheduleIsNeverEarlyNorLate() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        Random random = new Random(42);
+        Map<Integer, Long> scheduled = new HashMap<>();
+        long now = START;
+        for (int step = 0; step < 5_000; step++) {
+            if (random.nextInt(3) == 0) {
+                long due = now + 1 + random.nextInt(random.nextBoolean() ? 50 : 200_000);
+                assertThat(wheel.add(step, due)).isTrue();
+                scheduled.put(step, due);
+            }
+            now += random.nextInt(random.nextInt(10) == 0 ? 5_000 : 15);
+            for (Integer item : wheel.advanceTo(now)) {
+                assertThat(scheduled.remove(item)).isLessThanOrEqualTo(now);
+            }
+            long current = now;
+            assertThat(scheduled.values()).allMatch(due -> due > current);
+            assertThat(wheel.size()).isEqualTo(scheduled.size());
+        }
+    }
+
+    @Test
+    void testInvalidWheel() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, 8, START)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(10, 1, START)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.opensociety.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class NoticeEmailRendererTest {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private NoticeEmailRenderer noticeEmailRenderer;
+
+    @BeforeEach
+    public void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setMessageSource(messageSource);
+
+        noticeEmailRenderer =
+            new NoticeEmailRenderer(templateEngine, messageSource, new ConcurrentMapCacheManager(NoticeEmailRenderer.NOTICE_EMAILS_CACHE));
+    }
+
+    @Test
+    void testRecipientIsSubstitutedInTheRenderedNotice() {
+        NoticeEmail email = noticeEmailRenderer.render(notice(), LOCALE);
+
+        assertThat(email.getSubject()).isEqualTo("[SOCIETY] Water cut");
+        String content = email.render("user1@example.com");
+        assertThat(content).contains("Hello user1@example.com,").contains("Water cut").contains("No water on Monday");
+        assertThat(content).doesNotContain("recipient");
+        assertThat(email.render("Tom & <Jerry>")).contains("Hello Tom &amp; &lt;Jerry&gt;,");
+    }
+
+    @Test
+    void testNoticeIsRenderedOncePerVersion() {
+        Notice notice = notice();
+
+        NoticeEmail email = noticeEmailRenderer.render(notice, LOCALE);
+
+        assertThat(noticeEmailRenderer.render(notice, LOCALE)).isSameAs(email);
+        notice.title("Water back").version(1L);
+        NoticeEmail updated = noticeEmailRenderer.render(notice, LOCALE);
+        assertThat(updated).isNotSameAs(email);
+        assertThat(updated.render("user1@example.com")).contains("Water back");
+    }
+
+    private static Notice notice() {
+        return new Notice()
+            .id("notice")
+            .version(0L)
+            .title("Water cut")
+            .body("No water on Monday")
+            .noticeType(NoticeType.SOCIETY)
+            .userId(1L);
+    }
+}
@@ -0,0 +1,129 @@
+package com.demo.opensociety.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.management.NoticeMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Tests of {@link NoticeMailService}, against an in-process SMTP server.
+ */
+class NoticeMailServiceTest {
+
+    private SmtpStandIn smtp;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private NoticeMailService noticeMailService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        smtp = new SmtpStandIn();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setMessageSource(messageSource);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(NoticeEmailRenderer.NOTICE_EMAILS_CACHE);
+
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailFanOut().setBatchSize(2);
+        applicationProperties.getMailFanOut().setConnections(1);
+        applicationProperties.getMailFanOut().setRatePerSecond(0);
+        meterRegistry = new SimpleMeterRegistry();
+
+        noticeMailService =
+            new NoticeMailService(
+                new StaticListableBeanFactory(Map.of("mailSender", mailSender)).getBeanProvider(JavaMailSender.class),
+                new NoticeEmailRenderer(templateEngine, messageSource, cacheManager),
+                new JHipsterProperties(),
+                new NoticeMetersService(meterRegistry, applicationProperties),
+                applicationProperties
+            );
+        noticeMailService.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        noticeMailService.stop();
+        smtp.close();
+    }
+
+    @Test
+    void testNoticeIsMailedToEveryRecipientOverAReusedConnection() throws Exception {
+        List<InternetAddress> recipients = recipients(5);
+
+        assertThat(noticeMailService.mail(notice(), recipients)).isTrue();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sessionCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("notice.mail").tag("result", "sent").counter().count()).isEqualTo(5);
+        assertThat(smtp.getRecipients())
+            .containsExactly("user0@example.com", "user1@example.com", "user2@example.com", "user3@example.com", "user4@example.com");
+        // Three batches, sent over the same connection
+        assertThat(smtp.getConnections()).isEqualTo(1);
+        assertThat(smtp.getMessages()).hasSize(5).allMatch(message -> message.contains("Subject: [SOCIETY] Water cut"));
+        assertThat(sessionCount()).isEqualTo(3);
+        assertThat(noticeMailService.getQueuedMessages()).isZero();
+    }
+
+    @Test
+    void testMailingIsRefusedWhenTooManyMessagesAreQueued() throws Exception {
+        applicationProperties.getMailFanOut().setMaxQueuedMessages(3);
+
+        assertThat(noticeMailService.mail(notice(), recipients(5))).isFalse();
+        assertThat(noticeMailService.getQueuedMessages()).isZero();
+        assertThat(meterRegistry.get("notice.mail.queued").gauge().value()).isZero();
+    }
+
+    private long sessionCount() {
+        return meterRegistry.get("notice.mail.session").timer().count();
+    }
+
+    private static Notice notice() {
+        return new Notice().id("notice").title("Water cut").body("No water\non Monday").noticeType(NoticeType.SOCIETY).userId(1L);
+    }
+
+    private static List<InternetAddress> recipients(int count) throws AddressException {
+        List<InternetAddress> recipients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            recipients.add(new InternetAddress("user" + i + "@example.com"));
+        }
+        return recipients;
+    }
+}
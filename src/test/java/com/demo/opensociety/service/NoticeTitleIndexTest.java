@@ -0,0 +1,66 @@
+package com.demo.opensociety.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.demo.opensociety.service.dto.NoticeSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoticeTitleIndexTest {
+
+    private NoticeTitleIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new NoticeTitleIndex();
+    }
+
+    @Test
+    void testSuggestMatchesEveryPrefixMostRecentFirst() {
+        index.put("1", "Water supply interruption");
+        index.put("2", "Annual general meeting");
+        index.put("3", "Water tank cleaning");
+
+        assertThat(index.suggest("wat", 10)).extracting(NoticeSuggestionDTO::getId).containsExactly("3", "1");
+        assertThat(index.suggest("water int", 10)).extracting(NoticeSuggestionDTO::getId).containsExactly("1");
+        assertThat(index.suggest("wat", 1)).extracting(NoticeSuggestionDTO::getId).containsExactly("3");
+        assertThat(index.suggest("gas", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void testSuggestIgnoresCaseAndAccents() {
+        index.put("1", "Coupure d'\u00c9lectricit\u00e9");
+
+        assertThat(index.suggest("ELEC", 10)).containsExactly(new NoticeSuggestionDTO("1", "Coupure d'\u00c9lectricit\u00e9"));
+        assertThat(index.suggest("electricite", 10)).hasSize(1);
+    }
+
+    @Test
+    void testPutReplacesTitle() {
+        index.put("1", "Water supply interruption");
+        index.put("1", "Gas supply interruption");
+
+        assertThat(index.suggest("water", 10)).isEmpty();
+        assertThat(index.suggest("gas", 10)).containsExactly(new NoticeSuggestionDTO("1", "Gas supply interruption"));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemoveAndCompact() {
+        for (int i = 0; i < 200; i++) {
+            index.put(String.valueOf(i), "Notice " + i);
+        }
+        for (int i = 0; i < 150; i++) {
+            index.remove(String.valueOf(i));
+        }
+        for (int i = 200; i < 300; i++) {
+            index.put(String.valueOf(i), "Notice " + i);
+        }
+
+        assertThat(index.size()).isEqualTo(150);
+        assertThat(index.suggest("notice", 2)).extracting(NoticeSuggestionDTO::getId).containsExactly("299", "298");
+        assertThat(index.suggest("notice 1", 3)).extracting(NoticeSuggestionDTO::getId).containsExactly("199", "198", "197");
+        assertThat(index.suggest("notice 0", 10)).isEmpty();
+    }
+}
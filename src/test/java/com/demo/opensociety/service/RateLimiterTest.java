@@ -0,0 +1,50 @@
+package com.demo.opensociety.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * MILLI);
+
+    @Test
+    void testPermitsAreSpacedEvenly() {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+
+        assertThat(limiter.reserve(1)).isZero();
+        assertThat(limiter.reserve(1)).isEqualTo(10 * MILLI);
+        assertThat(limiter.reserve(3)).isEqualTo(20 * MILLI);
+        assertThat(limiter.reserve(1)).isEqualTo(50 * MILLI);
+
+        clock.addAndGet(50 * MILLI);
+        assertThat(limiter.reserve(1)).isEqualTo(10 * MILLI);
+    }
+
+    @Test
+    void testIdleTimeIsNotSavedUp() {
+        RateLimiter limiter = new RateLimiter(10, clock::get);
+
+        clock.addAndGet(10_000 * MILLI);
+
+        assertThat(limiter.reserve(1)).isZero();
+        assertThat(limiter.reserve(1)).isEqualTo(100 * MILLI);
+    }
+
+    @Test
+    void testZeroRateIsUnlimited() {
+        RateLimiter limiter = new RateLimiter(0, clock::get);
+
+        assertThat(limiter.reserve(1_000_000)).isZero();
+        assertThat(limiter.reserve(1)).isZero();
+    }
+
+    @Test
+    void testNegativeRateIsRejected() {
+        assertThatThrownBy(() -> new RateLimiter(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,25 +1,58 @@
 package com.demo.opensociety.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.demo.opensociety.IntegrationTest;
+import com.demo.opensociety.config.ApplicationProperties;
+import com.demo.opensociety.domain.IdempotencyKey;
 import com.demo.opensociety.domain.Notice;
+import com.demo.opensociety.domain.NoticeEvent;
+import com.demo.opensociety.domain.enumeration.NoticeEventType;
 import com.demo.opensociety.domain.enumeration.NoticeType;
+import com.demo.opensociety.repository.IdempotencyKeyRepository;
+import com.demo.opensociety.repository.NoticeBodyCodec;
+import com.demo.opensociety.repository.NoticeEventRepository;
+import com.demo.opensociety.repository.NoticeReadReceiptsRepository;
 import com.demo.opensociety.repository.NoticeRepository;
+import com.demo.opensociety.repository.NoticeRepositoryCustom;
+import com.demo.opensociety.security.AuthoritiesConstants;
+import com.demo.opensociety.service.NoticeArchiveService;
+import com.demo.opensociety.service.NoticeEventHandler;
+import com.demo.opensociety.service.NoticeOutboxDispatcher;
+import com.demo.opensociety.service.NoticeReadReceiptService;
+import com.demo.opensociety.service.NoticeStreamService;
+import com.demo.opensociety.service.NoticeTypeaheadService;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Integration tests for the {@link NoticeResource} REST controller.
@@ -27,6 +60,7 @@ import org.springframework.test.web.servlet.MockMvc;
 @IntegrationTest
 @AutoConfigureMockMvc
 @WithMockUser
+@Import(NoticeResourceIT.NoticeEventHandlerConfiguration.class)
 class NoticeResourceIT {
 
     private static final String DEFAULT_TITLE = "AAAAAAAAAA";
@@ -53,6 +87,39 @@ class NoticeResourceIT {
     @Autowired
     private MockMvc restNoticeMockMvc;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private NoticeStreamService noticeStreamService;
+
+    @Autowired
+    private NoticeEventRepository noticeEventRepository;
+
+    @Autowired
+    private NoticeOutboxDispatcher noticeOutboxDispatcher;
+
+    @Autowired
+    private NoticeReadReceiptsRepository noticeReadReceiptsRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private NoticeTypeaheadService noticeTypeaheadService;
+
+    @Autowired
+    private NoticeArchiveService noticeArchiveService;
+
+    @Autowired
+    private NoticeReadReceiptService noticeReadReceiptService;
+
+    @Autowired
+    private RecordingNoticeEventHandler noticeEventHandler;
+
     private Notice notice;
 
     /**
@@ -90,6 +157,9 @@ class NoticeResourceIT {
     @BeforeEach
     public void initTest() {
         noticeRepository.deleteAll();
+        noticeEventRepository.deleteAll();
+        noticeReadReceiptsRepository.deleteAll();
+        mongoTemplate.dropCollection(NoticeRepositoryCustom.ARCHIVE_COLLECTION);
         notice = createEntity();
     }
 
@@ -110,6 +180,165 @@ class NoticeResourceIT {
         assertThat(testNotice.getPublishDate()).isEqualTo(DEFAULT_PUBLISH_DATE);
         assertThat(testNotice.getNoticeType()).isEqualTo(DEFAULT_NOTICE_TYPE);
         assertThat(testNotice.getUserId()).isEqualTo(DEFAULT_USER_ID);
+        assertThat(testNotice.getPublished()).isFalse();
+    }
+
+    @Test
+    void createNoticeWritesOutboxEvent() throws Exception {
+        restNoticeMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(notice)))
+            .andExpect(status().isCreated());
+
+        Notice created = noticeRepository.findAll().get(0);
+        List<NoticeEvent> events = noticeEventRepository.findAll();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getNoticeId()).isEqualTo(created.getId());
+        assertThat(events.get(0).getType()).isEqualTo(NoticeEventType.CREATED);
+        assertThat(events.get(0).getNoticeVersion()).isEqualTo(created.getVersion());
+        assertThat(events.get(0).getNotice().getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
+    @Test
+    void createNoticeWithIdempotencyKey() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        String location = restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(NoticeResource.IDEMPOTENT_REPLAYED_HEADER))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+
+        // A retry gets the same notice without creating another one
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, location))
+            .andExpect(header().string(NoticeResource.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE));
+        assertThat(noticeRepository.findAll()).hasSize(1);
+
+        // Another key creates another notice
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated());
+        assertThat(noticeRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void createNoticeWithIdempotencyKeyOfAnotherNotice() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated());
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createEntity().title(UPDATED_TITLE)))
+            )
+            .andExpect(status().isUnprocessableEntity());
+        assertThat(noticeRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    @WithMockUser("idempotency-user")
+    void createNoticeWithPendingIdempotencyKey() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        String keyId = "idempotency-user:" + idempotencyKey;
+        String noticeId = new ObjectId().toHexString();
+        // Left by a request which stopped before creating its notice
+        idempotencyKeyRepository.insert(
+            new IdempotencyKey()
+                .id(keyId)
+                .noticeId(noticeId)
+                .pendingUntil(Instant.now().plusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600))
+        );
+
+        // Still pending
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isConflict());
+
+        // Once the lease expired, a retry creates the notice with the id of the key
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("id").is(keyId)),
+            new Update().set("pendingUntil", Instant.now().minusSeconds(1)),
+            IdempotencyKey.class
+        );
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(NoticeResource.IDEMPOTENT_REPLAYED_HEADER))
+            .andExpect(jsonPath("$.id").value(noticeId));
+        assertThat(idempotencyKeyRepository.findById(keyId)).get().extracting(IdempotencyKey::getPendingUntil).isNull();
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .header(NoticeResource.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().string(NoticeResource.IDEMPOTENT_REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.id").value(noticeId));
+        assertThat(noticeRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void createNoticesInBulk() throws Exception {
+        List<Notice> notices = List.of(createEntity(), createEntity().title(null), createUpdatedEntity());
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(notices))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[*].status").value(contains(201, 400, 201)))
+            .andExpect(jsonPath("$.[1].id").doesNotExist())
+            .andExpect(jsonPath("$.[1].errors.[0]").value("title: must not be null"));
+
+        // Validate the valid Notices in the database
+        List<Notice> noticeList = noticeRepository.findAll();
+        assertThat(noticeList).hasSize(2);
+        assertThat(noticeList).extracting(Notice::getTitle).containsExactlyInAnyOrder(DEFAULT_TITLE, UPDATED_TITLE);
+        assertThat(noticeList).allSatisfy(created -> assertThat(created.getLastModifiedDate()).isNotNull());
     }
 
     @Test
@@ -196,7 +425,7 @@ class NoticeResourceIT {
     @Test
     void getAllNotices() throws Exception {
         // Initialize the database
-        noticeRepository.save(notice);
+        noticeRepository.save(notice.published(true));
 
         // Get all the noticeList
         restNoticeMockMvc
@@ -211,6 +440,218 @@ class NoticeResourceIT {
             .andExpect(jsonPath("$.[*].userId").value(hasItem(DEFAULT_USER_ID.intValue())));
     }
 
+    @Test
+    void getAllNoticesWithCursor() throws Exception {
+        // Initialize the database with three notices published at distinct dates
+        Notice oldest = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE));
+        Notice middle = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(60)));
+        Notice newest = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(120)));
+
+        // Get the first page, newest first
+        String nextCursor = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(newest.getId()))
+            .andExpect(jsonPath("$.[1].id").value(middle.getId()))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andReturn()
+            .getResponse()
+            .getHeader(NoticeResource.NEXT_CURSOR_HEADER);
+        assertThat(nextCursor).isNotBlank();
+
+        // Get the last page
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(oldest.getId()))
+            .andExpect(header().doesNotExist(NoticeResource.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllNoticesWithInvalidCursor() throws Exception {
+        restNoticeMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid!cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getAllNoticesByFilter() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.published(true));
+        Notice other = noticeRepository.save(createUpdatedEntity().published(true));
+        Notice unpublished = noticeRepository.save(createUpdatedEntity().published(false));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?noticeType=" + UPDATED_NOTICE_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(other.getId()));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?userId=" + DEFAULT_USER_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=10&publishDateFrom=" + DEFAULT_PUBLISH_DATE.plusSeconds(1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(other.getId()));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?publishDateTo=" + DEFAULT_PUBLISH_DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?published=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(unpublished.getId()));
+    }
+
+    @Test
+    void getAllNoticesHidesUnpublishedOnes() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.published(true));
+        noticeRepository.save(createUpdatedEntity().published(false));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()));
+
+        // Only administrators can list the unpublished notices
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?published=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()));
+    }
+
+    @Test
+    void getNoticeSummaries() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.published(true));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_summary?noticeType=" + DEFAULT_NOTICE_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].publishDate").value(DEFAULT_PUBLISH_DATE.toString()))
+            .andExpect(jsonPath("$.[0].noticeType").value(DEFAULT_NOTICE_TYPE.toString()))
+            .andExpect(jsonPath("$.[0].userId").value(DEFAULT_USER_ID.intValue()))
+            .andExpect(jsonPath("$.[0].body").doesNotExist());
+    }
+
+    @Test
+    void searchNotices() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.title("Water supply interruption").body("Maintenance of the water tank"));
+        Notice other = noticeRepository.save(createUpdatedEntity().title("Annual meeting").body("Water bills will be discussed"));
+        noticeRepository.save(createEntity().title("Festival").body("Cultural evening"));
+
+        // Search the notices, title matches rank first
+        restNoticeMockMvc
+            .perform(get("/api/_search/notices?query=water"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(notice.getId()))
+            .andExpect(jsonPath("$.[1].id").value(other.getId()));
+    }
+
+    @Test
+    void suggestNotices() throws Exception {
+        // Create the Notice through the API so it gets indexed
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice.title("Water supply interruption")))
+            )
+            .andExpect(status().isCreated());
+        Notice created = noticeRepository.findAll().get(0);
+
+        restNoticeMockMvc
+            .perform(get("/api/_suggest/notices?query=water sup"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(created.getId())));
+
+        // Delete the Notice, which removes it from the suggestions
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, created.getId())).andExpect(status().isNoContent());
+
+        restNoticeMockMvc
+            .perform(get("/api/_suggest/notices?query=water sup"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(created.getId()))));
+    }
+
+    @Test
+    void suggestLoadedNoticesMostRecentFirst() throws Exception {
+        // Saved newest first, so the load order is not the insertion order
+        Notice newest = noticeRepository.save(createEntity().title("Boiler inspection").publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(60)));
+        Notice oldest = noticeRepository.save(createEntity().title("Boiler inspection").publishDate(DEFAULT_PUBLISH_DATE));
+
+        noticeTypeaheadService.load();
+
+        restNoticeMockMvc
+            .perform(get("/api/_suggest/notices?query=boiler insp"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(newest.getId(), oldest.getId())));
+    }
+
+    @Test
+    void suggestNoticesWithoutArchivedOnes() throws Exception {
+        Notice created = noticeRepository.save(notice.title("Chimney sweeping").published(true));
+        noticeTypeaheadService.index(created);
+
+        noticeArchiveService.archiveOldNotices();
+
+        assertThat(noticeRepository.findArchivedById(created.getId())).isPresent();
+        restNoticeMockMvc
+            .perform(get("/api/_suggest/notices?query=chimney swe"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(created.getId()))));
+    }
+
+    @Test
+    void exportNotices() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        noticeRepository.save(createUpdatedEntity());
+
+        MvcResult mvcResult = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String content = restNoticeMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(NoticeResource.NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = content.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":\"" + notice.getId() + "\"").contains(DEFAULT_TITLE);
+        assertThat(lines[1]).contains(UPDATED_TITLE);
+    }
+
     @Test
     void getNotice() throws Exception {
         // Initialize the database
@@ -229,6 +670,307 @@ class NoticeResourceIT {
             .andExpect(jsonPath("$.userId").value(DEFAULT_USER_ID.intValue()));
     }
 
+    @Test
+    void getNoticeIsCachedUntilUpdated() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        Cache cache = cacheManager.getCache(NoticeRepository.NOTICES_BY_ID_CACHE);
+        assertThat(cache.get(notice.getId())).isNull();
+
+        // Get the notice, which populates the cache
+        restNoticeMockMvc.perform(get(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isOk());
+        assertThat(cache.get(notice.getId())).isNotNull();
+
+        // Update the notice, which evicts it
+        restNoticeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, notice.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice.title(UPDATED_TITLE)))
+            )
+            .andExpect(status().isOk());
+        assertThat(cache.get(notice.getId())).isNull();
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE));
+    }
+
+    @Test
+    void getNoticeWithETag() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+
+        String eTag = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update the notice, which changes its ETag
+        noticeRepository.save(notice.title(UPDATED_TITLE));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE));
+    }
+
+    @Test
+    void getAllNoticesWithETag() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.published(true));
+
+        String eTag = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=10"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=10").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Add a notice to the listing, which changes its ETag
+        noticeRepository.save(createUpdatedEntity().published(true));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=10").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void getNoticesByIds() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        Notice other = noticeRepository.save(createUpdatedEntity());
+        String missingId = UUID.randomUUID().toString();
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(other.getId(), missingId, notice.getId())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.notices.length()").value(2))
+            .andExpect(jsonPath("$.notices.[0].id").value(other.getId()))
+            .andExpect(jsonPath("$.notices.[1].id").value(notice.getId()))
+            .andExpect(jsonPath("$.missingIds").value(contains(missingId)));
+    }
+
+    @Test
+    void getNoticeWithCompressedBody() throws Exception {
+        // Initialize the database with a body stored compressed
+        noticeRepository.save(notice);
+        ApplicationProperties compression = new ApplicationProperties();
+        compression.getBodyCompression().setEnabled(true);
+        compression.getBodyCompression().setThresholdBytes(0);
+        String body = DEFAULT_BODY.repeat(100);
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("id").is(notice.getId())),
+            new Update().set("body", new NoticeBodyCodec(compression).encode(body)),
+            Notice.class
+        );
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.body").value(body));
+    }
+
+    @Test
+    void getArchivedNotice() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice.published(true));
+        Notice recent = noticeRepository.save(createUpdatedEntity().published(true));
+
+        assertThat(noticeRepository.archivePublishedBefore(DEFAULT_PUBLISH_DATE.plusSeconds(1), 10)).containsExactly(notice.getId());
+        assertThat(noticeRepository.findAll()).extracting(Notice::getId).containsExactly(recent.getId());
+
+        // The archived notice is still found by id
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID, notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE));
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(notice.getId(), recent.getId())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.notices.[*].id").value(contains(notice.getId(), recent.getId())));
+
+        // Deleting it removes it from the archive
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isNoContent());
+        assertThat(noticeRepository.findArchivedById(notice.getId())).isEmpty();
+    }
+
+    @Test
+    void createNoticeAttachment() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+        // Attach a file to the notice
+        MvcResult created = restNoticeMockMvc
+            .perform(multipart(ENTITY_API_URL_ID + "/attachments", notice.getId()).file("file", content))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length").value(content.length))
+            .andExpect(jsonPath("$.contentType").value(MediaType.APPLICATION_OCTET_STREAM_VALUE))
+            .andReturn();
+        String fileId = noticeRepository.findById(notice.getId()).orElseThrow().getAttachments().get(0).getFileId();
+        assertThat(created.getResponse().getHeader(HttpHeaders.LOCATION)).endsWith("/attachments/" + fileId);
+        assertThat(noticeRepository.findById(notice.getId()).orElseThrow().getVersion()).isEqualTo(notice.getVersion() + 1);
+
+        // Download it whole, then partially
+        String attachmentUrl = ENTITY_API_URL_ID + "/attachments/" + fileId;
+        restNoticeMockMvc
+            .perform(get(attachmentUrl, notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + fileId + "\""))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(content));
+        restNoticeMockMvc
+            .perform(get(attachmentUrl, notice.getId()).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(content().string("2345"));
+        restNoticeMockMvc
+            .perform(get(attachmentUrl, notice.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + fileId + "\""))
+            .andExpect(status().isNotModified());
+        restNoticeMockMvc.perform(get(attachmentUrl, "unknown")).andExpect(status().isNotFound());
+
+        // Delete it
+        restNoticeMockMvc.perform(delete(attachmentUrl, notice.getId())).andExpect(status().isNoContent());
+        restNoticeMockMvc.perform(get(attachmentUrl, notice.getId())).andExpect(status().isNotFound());
+        assertThat(noticeRepository.findById(notice.getId()).orElseThrow().getAttachments()).isEmpty();
+    }
+
+    @Test
+    void createAttachmentWithContentType() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+
+        restNoticeMockMvc
+            .perform(
+                multipart(ENTITY_API_URL_ID + "/attachments", notice.getId())
+                    .file(new MockMultipartFile("file", "notice.txt", "Text/Plain; charset=UTF-8", new byte[] { 1 }))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.contentType").value("text/plain;charset=UTF-8"));
+
+        restNoticeMockMvc
+            .perform(
+                multipart(ENTITY_API_URL_ID + "/attachments", notice.getId())
+                    .file(new MockMultipartFile("file", "notice.txt", "not a media type", new byte[] { 1 }))
+            )
+            .andExpect(status().isBadRequest());
+        restNoticeMockMvc
+            .perform(
+                multipart(ENTITY_API_URL_ID + "/attachments", notice.getId())
+                    .file(new MockMultipartFile("file", "notice.txt", "text/*", new byte[] { 1 }))
+            )
+            .andExpect(status().isBadRequest());
+        assertThat(noticeRepository.findById(notice.getId()).orElseThrow().getAttachments()).hasSize(1);
+    }
+
+    @Test
+    void createAttachmentOfNonExistingNotice() throws Exception {
+        restNoticeMockMvc
+            .perform(multipart(ENTITY_API_URL_ID + "/attachments", "unknown").file(new MockMultipartFile("file", new byte[] { 1 })))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamNotices() throws Exception {
+        MvcResult stream = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_stream").param("noticeType", DEFAULT_NOTICE_TYPE.name()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        Notice other = createUpdatedEntity().published(true);
+        other.setId("other");
+        notice.published(true).setId("streamed");
+
+        // The change stream listener is disabled in tests: publish the notices directly
+        noticeStreamService.publish(other);
+        noticeStreamService.publish(notice);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains("streamed") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString())
+            .contains("event:notice")
+            .contains("\"id\":\"streamed\"")
+            .doesNotContain("\"id\":\"other\"");
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    void streamNoticesOncePublished() throws Exception {
+        MvcResult stream = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        notice.publishDate(Instant.now().plusSeconds(3600)).published(false).setId("future");
+
+        // Written ahead of its publish date, then published
+        noticeStreamService.publish(notice);
+        Thread.sleep(200);
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("\"id\":\"future\"");
+
+        noticeStreamService.publish(notice.published(true));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains("future") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getResponse().getContentAsString()).contains("\"id\":\"future\"").contains("\"published\":true");
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    void mailNoticeIsForbiddenToUsers() throws Exception {
+        noticeRepository.save(notice);
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/_mail", notice.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of("user@example.com")))
+            )
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void mailNoticeToInvalidAddress() throws Exception {
+        noticeRepository.save(notice);
+
+        restNoticeMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/_mail", notice.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of("user@example.com", "not an address")))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.recipientinvalid"));
+    }
+
     @Test
     void getNonExistingNotice() throws Exception {
         // Get the notice
@@ -445,6 +1187,84 @@ class NoticeResourceIT {
         assertThat(noticeList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void putNoticeWithIfMatch() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        String eTag = "\"" + notice.getVersion() + "\"";
+
+        restNoticeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, notice.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice.title(UPDATED_TITLE)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+
+        // The ETag is now stale
+        restNoticeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, notice.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice.title(DEFAULT_TITLE)))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(noticeRepository.findById(notice.getId())).get().extracting(Notice::getTitle).isEqualTo(UPDATED_TITLE);
+    }
+
+    @Test
+    void putNoticeWithStaleVersion() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        Long staleVersion = notice.getVersion();
+        noticeRepository.save(notice.title(UPDATED_TITLE));
+
+        restNoticeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, notice.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(notice.title(DEFAULT_TITLE).version(staleVersion)))
+            )
+            .andExpect(status().isConflict());
+
+        assertThat(noticeRepository.findById(notice.getId())).get().extracting(Notice::getTitle).isEqualTo(UPDATED_TITLE);
+    }
+
+    @Test
+    void patchNoticeWithIfMatch() throws Exception {
+        // Initialize the database
+        noticeRepository.save(notice);
+        String eTag = "\"" + notice.getVersion() + "\"";
+        Notice partialUpdatedNotice = new Notice().id(notice.getId()).title(UPDATED_TITLE);
+
+        restNoticeMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, notice.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedNotice))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(notice.getVersion() + 1))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (notice.getVersion() + 1) + "\""));
+
+        // The ETag is now stale
+        restNoticeMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, notice.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedNotice.title(DEFAULT_TITLE)))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(noticeRepository.findById(notice.getId())).get().extracting(Notice::getTitle).isEqualTo(UPDATED_TITLE);
+    }
+
     @Test
     void deleteNotice() throws Exception {
         // Initialize the database
@@ -461,4 +1281,188 @@ class NoticeResourceIT {
         List<Notice> noticeList = noticeRepository.findAll();
         assertThat(noticeList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void dispatchNoticeOutbox() throws Exception {
+        noticeRepository.save(notice);
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isNoContent());
+        // Deleting a missing notice changes nothing, and writes no event.
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isNoContent());
+
+        List<NoticeEvent> events = noticeEventRepository.findAll();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getType()).isEqualTo(NoticeEventType.DELETED);
+
+        noticeEventHandler.clear();
+        assertThat(noticeOutboxDispatcher.dispatchPending()).isEqualTo(1);
+        assertThat(noticeEventHandler.handled).extracting(NoticeEvent::getNoticeId).containsExactly(notice.getId());
+        assertThat(noticeEventRepository.count()).isZero();
+        assertThat(noticeOutboxDispatcher.dispatchPending()).isZero();
+    }
+
+    @Test
+    void dispatchNoticeOutboxKeepsUnhandledEvents() throws Exception {
+        noticeRepository.save(notice);
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isNoContent());
+
+        noticeEventHandler.clear();
+        noticeEventHandler.failing = true;
+        try {
+            assertThat(noticeOutboxDispatcher.dispatchPending()).isEqualTo(1);
+        } finally {
+            noticeEventHandler.failing = false;
+        }
+
+        // Released, to be dispatched again after the retry delay
+        assertThat(noticeEventHandler.handled).isEmpty();
+        List<NoticeEvent> events = noticeEventRepository.findAll();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getClaimedBy()).isNull();
+        assertThat(events.get(0).getAttempts()).isEqualTo(1);
+        assertThat(events.get(0).getClaimedUntil()).isAfter(Instant.now());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void markNoticeRead() throws Exception {
+        noticeRepository.save(notice);
+
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId())).andExpect(status().isAccepted());
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=43", notice.getId())).andExpect(status().isAccepted());
+        // Reading a notice twice counts once.
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId())).andExpect(status().isAccepted());
+
+        // Buffered receipts are visible before being written.
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("true"));
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/_read/_count", notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("2"));
+
+        noticeReadReceiptService.flush();
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=44", notice.getId())).andExpect(status().isAccepted());
+        noticeReadReceiptService.flush();
+
+        assertThat(noticeReadReceiptsRepository.countReaders(notice.getId())).isEqualTo(3);
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/_read?readerId=43", notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("true"));
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/_read?readerId=45", notice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("false"));
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void markArchivedNoticeRead() throws Exception {
+        noticeRepository.save(notice.published(true));
+        assertThat(noticeRepository.archivePublishedBefore(DEFAULT_PUBLISH_DATE.plusSeconds(1), 10)).containsExactly(notice.getId());
+
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId())).andExpect(status().isAccepted());
+
+        assertThat(noticeReadReceiptService.hasRead(notice.getId(), 42L)).isTrue();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void markNonExistingNoticeRead() throws Exception {
+        restNoticeMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/_read?readerId=42", UUID.randomUUID().toString()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void markNoticeReadIsForbiddenToUsers() throws Exception {
+        noticeRepository.save(notice);
+
+        restNoticeMockMvc.perform(post(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId())).andExpect(status().isForbidden());
+        restNoticeMockMvc.perform(get(ENTITY_API_URL_ID + "/_read?readerId=42", notice.getId())).andExpect(status().isForbidden());
+        restNoticeMockMvc.perform(get(ENTITY_API_URL + "/_unread?readerId=42")).andExpect(status().isForbidden());
+        assertThat(noticeReadReceiptService.hasRead(notice.getId(), 42L)).isFalse();
+    }
+
+    @Test
+    void markDeletedNoticeRead() throws Exception {
+        noticeRepository.save(notice);
+        noticeReadReceiptService.markRead(notice.getId(), 42L);
+        noticeReadReceiptService.flush();
+
+        restNoticeMockMvc.perform(delete(ENTITY_API_URL_ID, notice.getId())).andExpect(status().isNoContent());
+        // Recorded by a request which found the notice before it was deleted
+        noticeReadReceiptService.markRead(notice.getId(), 43L);
+        noticeReadReceiptService.flush();
+
+        assertThat(noticeReadReceiptsRepository.existsById(notice.getId())).isFalse();
+        assertThat(noticeReadReceiptService.hasRead(notice.getId(), 43L)).isFalse();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getUnreadNotices() throws Exception {
+        Notice oldest = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE));
+        Notice middle = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(60)));
+        Notice newest = noticeRepository.save(createEntity().published(true).publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(120)));
+        noticeRepository.save(createEntity().published(false).publishDate(DEFAULT_PUBLISH_DATE.plusSeconds(180)));
+
+        noticeReadReceiptService.markRead(middle.getId(), 42L);
+        noticeReadReceiptService.flush();
+        noticeReadReceiptService.markRead(newest.getId(), 43L);
+
+        String nextCursor = restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_unread?readerId=42&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newest.getId()))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andReturn()
+            .getResponse()
+            .getHeader(NoticeResource.NEXT_CURSOR_HEADER);
+        assertThat(nextCursor).isNotBlank();
+
+        // The read notice is skipped.
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_unread?readerId=42&size=2&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(oldest.getId()))
+            .andExpect(header().doesNotExist(NoticeResource.NEXT_CURSOR_HEADER));
+
+        restNoticeMockMvc
+            .perform(get(ENTITY_API_URL + "/_unread?readerId=43&size=10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(middle.getId(), oldest.getId())));
+    }
+
+    @TestConfiguration
+    static class NoticeEventHandlerConfiguration {
+
+        @Bean
+        RecordingNoticeEventHandler recordingNoticeEventHandler() {
+            return new RecordingNoticeEventHandler();
+        }
+    }
+
+    static class RecordingNoticeEventHandler implements NoticeEventHandler {
+
+        private final List<NoticeEvent> handled = new CopyOnWriteArrayList<>();
+
+        private volatile boolean failing;
+
+        @Override
+        public void handle(NoticeEvent event) {
+            if (failing) {
+                throw new IllegalStateException("Downstream unavailable");
+            }
+            handled.add(event);
+        }
+
+        void clear() {
+            handled.clear();
+        }
+    }
 }